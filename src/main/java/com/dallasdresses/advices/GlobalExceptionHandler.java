@@ -2,6 +2,7 @@ package com.dallasdresses.advices;
 
 import com.dallasdresses.exceptions.DuplicateEntityException;
 import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.exceptions.IdempotencyKeyConflictException;
 import com.dallasdresses.exceptions.InvalidEntityException;
 import com.dallasdresses.dtos.common.ApiResponse;
 import com.dallasdresses.dtos.common.ErrorResponse;
@@ -136,7 +137,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({InvalidEntityException.class})
     public ResponseEntity<ApiResponse<Object>> handleInvalidEntityException(
-            EntityNotFoundException ex,
+            InvalidEntityException ex,
             HttpServletRequest request
     ) {
         log.error("🥊 Invalid entity: {}", ex.getMessage());
@@ -147,7 +148,27 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(
                 message,
                 HttpStatus.BAD_REQUEST,
-                "Invalid entity",
+                ex.getMessage(),
+                request,
+                errors,
+                false
+        ).createResponse();
+    }
+
+    @ExceptionHandler({IdempotencyKeyConflictException.class})
+    public ResponseEntity<ApiResponse<Object>> handleIdempotencyKeyConflictException(
+            IdempotencyKeyConflictException ex,
+            HttpServletRequest request
+    ) {
+        log.error("🥊 Idempotency key conflict: {}", ex.getMessage());
+
+        String message = "Idempotency key conflict";
+        List<String> errors = new ArrayList<>();
+
+        return new ErrorResponse(
+                message,
+                HttpStatus.CONFLICT,
+                ex.getMessage(),
                 request,
                 errors,
                 false
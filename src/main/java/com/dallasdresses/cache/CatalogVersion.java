@@ -0,0 +1,62 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import com.dallasdresses.events.StockChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the strong ETags of catalog responses. A counter is bumped after
+ * a write commits. Caches and indexes refresh with {@link #REFRESH_ORDER}, so they have
+ * already applied the write by then and a new tag is never attached to stale content.
+ */
+@Component
+public class CatalogVersion {
+
+    public static final int REFRESH_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    // Counters restart at zero, so the start time keeps tags from different runs apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong itemVersion = new AtomicLong();
+    private final AtomicLong categoryVersion = new AtomicLong();
+
+    public String itemsEtag() {
+        return "\"i-" + epoch + "-" + itemVersion.get() + "\"";
+    }
+
+    public String categoriesEtag() {
+        return "\"c-" + epoch + "-" + categoryVersion.get() + "\"";
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        itemVersion.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        itemVersion.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        itemVersion.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryVersion.incrementAndGet();
+        // Item responses embed category names and slugs
+        itemVersion.incrementAndGet();
+    }
+}
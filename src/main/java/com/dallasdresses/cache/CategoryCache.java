@@ -0,0 +1,159 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.entities.Category;
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.repositories.CategoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory snapshot of all categories, indexed by id, name and slug.
+ * The category service is the only writer, so the snapshot is rebuilt after every
+ * committed category change and swapped in atomically; readers never see a partial state.
+ */
+@Slf4j
+@Component
+public class CategoryCache {
+
+    private final CategoryRepository categoryRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshes;
+
+    private volatile Snapshot snapshot;
+
+    public CategoryCache(CategoryRepository categoryRepository, MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.hits = Counter.builder("catalog.category.cache.requests")
+                .description("Category cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.category.cache.requests")
+                .description("Category cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.refreshes = Counter.builder("catalog.category.cache.refreshes")
+                .description("Category cache snapshot rebuilds")
+                .register(meterRegistry);
+        Gauge.builder("catalog.category.cache.size", this, cache -> cache.loadedSize())
+                .description("Categories held in the cache")
+                .register(meterRegistry);
+    }
+
+    public List<CategoryDto> findAll() {
+        hits.increment();
+
+        return current().all().stream()
+                .map(Entry::toDto)
+                .toList();
+    }
+
+    public Optional<CategoryDto> findById(Long id) {
+        return lookup(current().byId().get(id));
+    }
+
+    public Optional<CategoryDto> findByName(String name) {
+        return lookup(name == null ? null : current().byName().get(name));
+    }
+
+    public Optional<CategoryDto> findBySlug(String slug) {
+        return lookup(slug == null ? null : current().bySlug().get(slug));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        log.debug("Refreshing category cache after change to category {}", event.categoryId());
+        refresh();
+    }
+
+    /**
+     * Reloads every category and replaces the snapshot. Synchronized so that two
+     * overlapping refreshes cannot publish an older snapshot over a newer one.
+     */
+    public synchronized void refresh() {
+        snapshot = Snapshot.of(categoryRepository.findAll());
+        refreshes.increment();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+
+        return current;
+    }
+
+    private Optional<CategoryDto> lookup(Entry entry) {
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(entry.toDto());
+    }
+
+    private int loadedSize() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.all().size();
+    }
+
+    private record Entry(Long id, String name, String slug) {
+
+        // Hand out a fresh DTO each time so callers cannot mutate the shared snapshot
+        CategoryDto toDto() {
+            return CategoryDto.builder()
+                    .id(id)
+                    .name(name)
+                    .slug(slug)
+                    .build();
+        }
+    }
+
+    private record Snapshot(List<Entry> all,
+                            Map<Long, Entry> byId,
+                            Map<String, Entry> byName,
+                            Map<String, Entry> bySlug) {
+
+        static Snapshot of(List<Category> categories) {
+            List<Entry> all = new ArrayList<>(categories.size());
+            Map<Long, Entry> byId = new HashMap<>();
+            Map<String, Entry> byName = new HashMap<>();
+            Map<String, Entry> bySlug = new HashMap<>();
+
+            categories.stream()
+                    .sorted(Comparator.comparing(Category::getId))
+                    .forEach(category -> {
+                        Entry entry = new Entry(category.getId(), category.getName(), category.getSlug());
+                        all.add(entry);
+                        byId.put(entry.id(), entry);
+                        if (entry.name() != null) {
+                            byName.putIfAbsent(entry.name(), entry);
+                        }
+                        if (entry.slug() != null) {
+                            bySlug.putIfAbsent(entry.slug(), entry);
+                        }
+                    });
+
+            return new Snapshot(List.copyOf(all), Map.copyOf(byId), Map.copyOf(byName), Map.copyOf(bySlug));
+        }
+    }
+}
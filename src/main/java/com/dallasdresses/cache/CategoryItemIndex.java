@@ -0,0 +1,173 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import com.dallasdresses.repositories.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Denormalized copy of the item_category table: for every category, the ids of its items
+ * in ascending order. Category pages are resolved here and only the ids of one page are
+ * loaded from the database. Each category's array is copy-on-write, so readers work on a
+ * stable snapshot without locking while item writes replace the affected arrays.
+ */
+@Slf4j
+@Component
+public class CategoryItemIndex {
+
+    private static final long[] NO_ITEMS = new long[0];
+
+    private final ItemRepository itemRepository;
+
+    private volatile Map<Long, long[]> itemIdsByCategory;
+
+    public CategoryItemIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Returns up to {@code count} item ids of the category that are greater than {@code afterId},
+     * in ascending order. A {@code null} {@code afterId} starts from the first item.
+     */
+    public List<Long> findItemIds(Long categoryId, Long afterId, int count) {
+        long[] itemIds = current().getOrDefault(categoryId, NO_ITEMS);
+
+        int from = 0;
+        if (afterId != null) {
+            int position = Arrays.binarySearch(itemIds, afterId);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+
+        int to = (int) Math.min(itemIds.length, (long) from + count);
+        List<Long> page = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            page.add(itemIds[i]);
+        }
+
+        return page;
+    }
+
+    public int countItems(Long categoryId) {
+        return current().getOrDefault(categoryId, NO_ITEMS).length;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Set<Long> categoryIds = event.item() == null || event.item().getCategories() == null
+                ? Set.of()
+                : event.item().getCategories().stream()
+                    .map(CategoryDto::getId)
+                    .collect(Collectors.toSet());
+
+        apply(event.itemId(), categoryIds);
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Deleting a category removes its join rows, which no item event reports
+        rebuild();
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads the whole index from the join table. Synchronized with {@link #apply} so an item
+     * change is never overwritten by a rebuild that read the table before the change committed.
+     */
+    public synchronized void rebuild() {
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        itemRepository.findCategoryMemberships().forEach(row -> grouped
+                .computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>())
+                .add(((Number) row[1]).longValue()));
+
+        Map<Long, long[]> rebuilt = new HashMap<>(grouped.size());
+        grouped.forEach((categoryId, itemIds) -> rebuilt.put(categoryId,
+                itemIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray()));
+
+        itemIdsByCategory = Map.copyOf(rebuilt);
+        log.debug("Rebuilt category item index for {} categories", rebuilt.size());
+    }
+
+    /**
+     * Moves an item into exactly the given categories. Applying the same change twice is harmless.
+     */
+    private synchronized void apply(Long itemId, Set<Long> categoryIds) {
+        Map<Long, long[]> current = current();
+        Map<Long, long[]> next = new HashMap<>(current);
+        boolean changed = false;
+
+        for (Map.Entry<Long, long[]> entry : current.entrySet()) {
+            if (!categoryIds.contains(entry.getKey()) && Arrays.binarySearch(entry.getValue(), itemId) >= 0) {
+                long[] remaining = without(entry.getValue(), itemId);
+                if (remaining.length == 0) {
+                    next.remove(entry.getKey());
+                } else {
+                    next.put(entry.getKey(), remaining);
+                }
+                changed = true;
+            }
+        }
+
+        for (Long categoryId : categoryIds) {
+            long[] itemIds = next.getOrDefault(categoryId, NO_ITEMS);
+            if (Arrays.binarySearch(itemIds, itemId) < 0) {
+                next.put(categoryId, with(itemIds, itemId));
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            itemIdsByCategory = Map.copyOf(next);
+        }
+    }
+
+    private Map<Long, long[]> current() {
+        Map<Long, long[]> current = itemIdsByCategory;
+        if (current == null) {
+            rebuild();
+            current = itemIdsByCategory;
+        }
+
+        return current;
+    }
+
+    private static long[] with(long[] itemIds, long itemId) {
+        int insertAt = -Arrays.binarySearch(itemIds, itemId) - 1;
+        long[] result = new long[itemIds.length + 1];
+        System.arraycopy(itemIds, 0, result, 0, insertAt);
+        result[insertAt] = itemId;
+        System.arraycopy(itemIds, insertAt, result, insertAt + 1, itemIds.length - insertAt);
+
+        return result;
+    }
+
+    private static long[] without(long[] itemIds, long itemId) {
+        int removeAt = Arrays.binarySearch(itemIds, itemId);
+        long[] result = new long[itemIds.length - 1];
+        System.arraycopy(itemIds, 0, result, 0, removeAt);
+        System.arraycopy(itemIds, removeAt + 1, result, removeAt, itemIds.length - removeAt - 1);
+
+        return result;
+    }
+}
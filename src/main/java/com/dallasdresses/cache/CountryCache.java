@@ -0,0 +1,111 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.entities.Country;
+import com.dallasdresses.repositories.CountryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory copy of the countries table, indexed by id and by normalized name.
+ * Countries are reference data with no write path in the application, so the table is read
+ * once at startup; {@link #refresh()} reloads it if rows are added out of band.
+ */
+@Slf4j
+@Component
+public class CountryCache {
+
+    private final CountryRepository countryRepository;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile Snapshot snapshot;
+
+    public CountryCache(CountryRepository countryRepository, MeterRegistry meterRegistry) {
+        this.countryRepository = countryRepository;
+        this.hits = Counter.builder("reference.country.cache.requests")
+                .description("Country cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("reference.country.cache.requests")
+                .description("Country cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("reference.country.cache.size", this, cache -> cache.loadedSize())
+                .description("Countries held in the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolves a country name the way findByNameIgnoreCase did, ignoring case and surrounding spaces.
+     */
+    public Optional<Long> findIdByName(String name) {
+        return lookup(name == null ? null : current().idsByName().get(normalize(name)));
+    }
+
+    public Optional<String> findNameById(Long id) {
+        return lookup(id == null ? null : current().namesById().get(id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        snapshot = Snapshot.of(countryRepository.findAll());
+        log.debug("Loaded {} countries", snapshot.namesById().size());
+    }
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+
+        return current;
+    }
+
+    private <T> Optional<T> lookup(T value) {
+        if (value == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(value);
+    }
+
+    private int loadedSize() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.namesById().size();
+    }
+
+    private record Snapshot(Map<Long, String> namesById, Map<String, Long> idsByName) {
+
+        static Snapshot of(List<Country> countries) {
+            Map<Long, String> namesById = new HashMap<>();
+            Map<String, Long> idsByName = new HashMap<>();
+
+            countries.stream()
+                    .sorted(Comparator.comparing(Country::getId))
+                    .forEach(country -> {
+                        namesById.put(country.getId(), country.getName());
+                        idsByName.putIfAbsent(normalize(country.getName()), country.getId());
+                    });
+
+            return new Snapshot(Map.copyOf(namesById), Map.copyOf(idsByName));
+        }
+    }
+}
@@ -0,0 +1,577 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.projection.ItemFacetRow;
+import com.dallasdresses.dtos.request.ItemSort;
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.entities.enums.DiscountType;
+import com.dallasdresses.entities.enums.DressSize;
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import com.dallasdresses.pricing.PriceCalculator;
+import com.dallasdresses.repositories.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory facet index over the catalog. Every item gets an ordinal, assigned in id order,
+ * and each size, color and category keeps a bitset of the ordinals that carry it. A filter is
+ * answered by intersecting bitsets, and the per-facet counts come from the same bitsets, so no
+ * SQL runs until the ids of the requested page are known.
+ *
+ * <p>Ordinals are kept in id order. Creates can commit out of id order, so a new item takes the
+ * ordinal at its id's place and the ordinals after it move up by one; a new highest id, the usual
+ * case, is simply appended. Deleted items only lose their bits; their ordinal stays so that cursors
+ * pointing at them keep working until the next rebuild.
+ *
+ * <p>Effective prices are held in cents per ordinal, and live ordinals are also kept sorted by
+ * effective price. An item change moves just that ordinal within the sorted array, so price
+ * bands and price-ordered pages never touch {@link java.math.BigDecimal} or re-sort. The same
+ * array serves the price-sorted catalog and category pages through {@link #findByPrice}.
+ */
+@Slf4j
+@Component
+public class ItemFacetIndex {
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state;
+
+    public ItemFacetIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Filters the catalog. Values within a facet are alternatives, facets are combined with AND;
+     * a {@code null} set leaves that facet unfiltered while an empty one matches nothing.
+     */
+    public Result filter(Query query) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            return state.filter(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code count} items of the category, or of the whole catalog when
+     * {@code categoryId} is {@code null}, in effective price order after the given position.
+     * Unlike {@link #filter(Query)} no facet is counted, so a sorted catalog page costs only the walk.
+     */
+    public PricePage findByPrice(Long categoryId, ItemSort sort, Long afterPriceCents, Long afterId, int count) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            return state.findByPrice(categoryId, sort, afterPriceCents, afterId, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        apply(event);
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Deleting a category removes its join rows, which no item event reports
+        rebuild();
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads the index and compacts away the ordinals of deleted items. Writers are serialized
+     * on this object so an item change can never be overwritten by an older rebuild.
+     */
+    public synchronized void rebuild() {
+        List<ItemFacetRow> rows = itemRepository.findAllFacetRows();
+        Map<Long, Set<Long>> categoriesByItem = new HashMap<>();
+        itemRepository.findCategoryMemberships().forEach(row -> categoriesByItem
+                .computeIfAbsent(((Number) row[1]).longValue(), id -> new HashSet<>())
+                .add(((Number) row[0]).longValue()));
+
+        State rebuilt = new State(rows.size());
+        rows.forEach(row -> rebuilt.put(new Entry(row.id(), row.size(), row.color(), row.price(),
+                row.discountType(), row.discountValue(), categoriesByItem.getOrDefault(row.id(), Set.of()))));
+        rebuilt.sortByPrice();
+
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.debug("Rebuilt item facet index with {} items", rows.size());
+    }
+
+    private synchronized void apply(ItemChangedEvent event) {
+        ensureLoaded();
+
+        ItemDto item = event.item();
+        lock.writeLock().lock();
+        try {
+            if (item == null) {
+                state.remove(event.itemId());
+            } else {
+                Set<Long> categoryIds = item.getCategories() == null
+                        ? Set.of()
+                        : item.getCategories().stream().map(CategoryDto::getId).collect(Collectors.toSet());
+
+                state.put(new Entry(item.getId(), item.getSize(), item.getColor(), item.getPrice(),
+                        item.getDiscountType(), item.getDiscountValue(), categoryIds));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (state != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        synchronized (this) {
+            if (state == null) {
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * Colors are matched case-insensitively.
+     */
+    public static String normalizeColor(String color) {
+        return color == null ? null : color.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Price bounds are effective prices in cents. A price-sorted page continues after the item
+     * {@code afterId} priced at {@code afterPriceCents}; an id-sorted one only needs the id.
+     */
+    public record Query(Set<DressSize> sizes,
+                        Set<String> colors,
+                        Set<Long> categoryIds,
+                        Long minPriceCents,
+                        Long maxPriceCents,
+                        Boolean discounted,
+                        Long afterId,
+                        int count,
+                        ItemSort sort,
+                        Long afterPriceCents) {
+
+        public Query(Set<DressSize> sizes, Set<String> colors, Set<Long> categoryIds, Long minPriceCents,
+                     Long maxPriceCents, Boolean discounted, Long afterId, int count) {
+            this(sizes, colors, categoryIds, minPriceCents, maxPriceCents, discounted, afterId, count, null, null);
+        }
+
+        boolean sortedByPrice() {
+            return sort == ItemSort.PRICE_ASC || sort == ItemSort.PRICE_DESC;
+        }
+    }
+
+    /**
+     * {@code lastPriceCents} is the effective price of the last item of a price-sorted page.
+     */
+    public record Result(List<Long> itemIds,
+                         boolean hasMore,
+                         int total,
+                         Map<DressSize, Integer> sizeCounts,
+                         Map<String, Integer> colorCounts,
+                         Map<Long, Integer> categoryCounts,
+                         int discountedCount,
+                         int regularCount,
+                         Long lastPriceCents) {
+    }
+
+    /**
+     * {@code lastPriceCents} is the effective price of the last item on the page.
+     */
+    public record PricePage(List<Long> itemIds, boolean hasMore, Long lastPriceCents) {
+    }
+
+    private record Entry(Long id, DressSize size, String color, BigDecimal price,
+                         DiscountType discountType, Double discountValue, Set<Long> categoryIds) {
+
+        boolean isDiscounted() {
+            return PriceCalculator.isDiscounted(discountType, discountValue);
+        }
+
+        long effectivePriceCents() {
+            return PriceCalculator.effectivePriceCents(price, discountType, discountValue);
+        }
+    }
+
+    /**
+     * Mutable index state, guarded by the enclosing read/write lock.
+     */
+    private static final class State {
+
+        // Price-order keys pack the price above the ordinal. Ordinals follow id order, even for
+        // creates applied out of id order, so ties fall back to the id order the cursors use.
+        private static final int ORDINAL_BITS = 31;
+        private static final long ORDINAL_MASK = (1L << ORDINAL_BITS) - 1;
+        private static final long MAX_KEY_CENTS = (1L << 32) - 1;
+
+        private long[] itemIds;
+        private long[] effectiveCents;
+        private int size;
+
+        // Sorted keys of live ordinals; null until sortByPrice() during a rebuild
+        private long[] byPrice;
+        private int byPriceSize;
+
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private final BitSet discounted = new BitSet();
+        private final Map<DressSize, BitSet> bySize = new EnumMap<>(DressSize.class);
+        // Sorted so facet counts come out in a stable order
+        private final Map<String, BitSet> byColor = new TreeMap<>();
+        private final Map<Long, BitSet> byCategory = new TreeMap<>();
+
+        State(int capacity) {
+            itemIds = new long[Math.max(capacity, 16)];
+            effectiveCents = new long[itemIds.length];
+        }
+
+        void put(Entry entry) {
+            Integer existing = ordinals.get(entry.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                if (live.get(ordinal)) {
+                    removeFromPriceOrder(ordinal);
+                }
+                clearBits(ordinal);
+            } else {
+                ordinal = insert(entry.id());
+            }
+
+            live.set(ordinal);
+            effectiveCents[ordinal] = entry.effectivePriceCents();
+            addToPriceOrder(ordinal);
+            if (entry.isDiscounted()) {
+                discounted.set(ordinal);
+            }
+            if (entry.size() != null) {
+                bySize.computeIfAbsent(entry.size(), key -> new BitSet()).set(ordinal);
+            }
+            if (entry.color() != null) {
+                byColor.computeIfAbsent(normalizeColor(entry.color()), key -> new BitSet()).set(ordinal);
+            }
+            entry.categoryIds().forEach(categoryId ->
+                    byCategory.computeIfAbsent(categoryId, key -> new BitSet()).set(ordinal));
+        }
+
+        void remove(Long itemId) {
+            Integer ordinal = ordinals.get(itemId);
+            if (ordinal != null) {
+                if (live.get(ordinal)) {
+                    removeFromPriceOrder(ordinal);
+                }
+                clearBits(ordinal);
+            }
+        }
+
+        /**
+         * Sorts all live ordinals by price in one go; later puts and removes keep the order.
+         */
+        void sortByPrice() {
+            byPrice = new long[Math.max(itemIds.length, 16)];
+            byPriceSize = 0;
+            for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1)) {
+                byPrice[byPriceSize++] = priceKey(effectiveCents[i], i);
+            }
+            Arrays.sort(byPrice, 0, byPriceSize);
+        }
+
+        Result filter(Query query) {
+            // Filters that are not facets apply to every count
+            BitSet base = (BitSet) live.clone();
+            if (query.minPriceCents() != null || query.maxPriceCents() != null) {
+                long min = query.minPriceCents() == null ? Long.MIN_VALUE : query.minPriceCents();
+                long max = query.maxPriceCents() == null ? Long.MAX_VALUE : query.maxPriceCents();
+                for (int i = base.nextSetBit(0); i >= 0; i = base.nextSetBit(i + 1)) {
+                    if (effectiveCents[i] < min || effectiveCents[i] > max) {
+                        base.clear(i);
+                    }
+                }
+            }
+
+            BitSet sizeMask = union(bySize, query.sizes());
+            BitSet colorMask = union(byColor, query.colors());
+            BitSet categoryMask = union(byCategory, query.categoryIds());
+            BitSet discountMask = query.discounted() == null ? null : discountMask(query.discounted());
+
+            BitSet matches = intersect(base, sizeMask, colorMask, categoryMask, discountMask);
+
+            // Each facet is counted against every filter except its own
+            BitSet withoutSize = intersect(base, colorMask, categoryMask, discountMask);
+            BitSet withoutColor = intersect(base, sizeMask, categoryMask, discountMask);
+            BitSet withoutCategory = intersect(base, sizeMask, colorMask, discountMask);
+            BitSet withoutDiscount = intersect(base, sizeMask, colorMask, categoryMask);
+
+            int discountedCount = countIn(discounted, withoutDiscount);
+
+            List<Long> page = new ArrayList<>(Math.min(query.count(), 64));
+            boolean hasMore;
+            Long lastPriceCents = null;
+            if (query.sortedByPrice()) {
+                hasMore = pageByPrice(matches, query.sort(), query.afterPriceCents(), query.afterId(),
+                        query.count(), page);
+                lastPriceCents = lastPriceCents(page);
+            } else {
+                hasMore = pageById(matches, query, page);
+            }
+
+            return new Result(page, hasMore, matches.cardinality(),
+                    counts(bySize, withoutSize),
+                    counts(byColor, withoutColor),
+                    counts(byCategory, withoutCategory),
+                    discountedCount,
+                    withoutDiscount.cardinality() - discountedCount,
+                    lastPriceCents);
+        }
+
+        PricePage findByPrice(Long categoryId, ItemSort sort, Long afterPriceCents, Long afterId, int count) {
+            // Category bits are cleared with the rest when an item goes, so they only hold live ordinals
+            BitSet matches = categoryId == null ? live : byCategory.getOrDefault(categoryId, new BitSet());
+
+            List<Long> page = new ArrayList<>(Math.min(count, 64));
+            boolean hasMore = pageByPrice(matches, sort, afterPriceCents, afterId, count, page);
+            return new PricePage(page, hasMore, lastPriceCents(page));
+        }
+
+        private Long lastPriceCents(List<Long> page) {
+            return page.isEmpty() ? null : effectiveCents[ordinals.get(page.get(page.size() - 1))];
+        }
+
+        private boolean pageById(BitSet matches, Query query, List<Long> page) {
+            int from = 0;
+            if (query.afterId() != null) {
+                int position = Arrays.binarySearch(itemIds, 0, size, query.afterId());
+                from = position >= 0 ? position + 1 : -position - 1;
+            }
+
+            int next = matches.nextSetBit(from);
+            while (next >= 0 && page.size() < query.count()) {
+                page.add(itemIds[next]);
+                next = matches.nextSetBit(next + 1);
+            }
+
+            return next >= 0;
+        }
+
+        private boolean pageByPrice(BitSet matches, ItemSort sort, Long afterPriceCents, Long afterId, int count,
+                                    List<Long> page) {
+            boolean descending = sort == ItemSort.PRICE_DESC;
+            int step = descending ? -1 : 1;
+
+            int index = descending ? byPriceSize - 1 : 0;
+            if (afterId != null) {
+                // An id dropped by a rebuild sorts just before the next higher id at the same price
+                Integer ordinal = ordinals.get(afterId);
+                long after = priceKey(afterPriceCents, ordinal != null ? ordinal : insertionPoint(afterId));
+                int position = Arrays.binarySearch(byPrice, 0, byPriceSize, after);
+                int lowerBound = position >= 0 ? position : -position - 1;
+                boolean found = ordinal != null && position >= 0;
+                index = descending ? lowerBound - 1 : (found ? lowerBound + 1 : lowerBound);
+            }
+
+            for (; index >= 0 && index < byPriceSize; index += step) {
+                int ordinal = (int) (byPrice[index] & ORDINAL_MASK);
+                if (!matches.get(ordinal)) {
+                    continue;
+                }
+
+                if (page.size() == count) {
+                    return true;
+                }
+                page.add(itemIds[ordinal]);
+            }
+
+            return false;
+        }
+
+        private int insertionPoint(Long itemId) {
+            int position = Arrays.binarySearch(itemIds, 0, size, itemId);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        private void addToPriceOrder(int ordinal) {
+            if (byPrice == null) {
+                return;
+            }
+
+            long key = priceKey(effectiveCents[ordinal], ordinal);
+            int position = -Arrays.binarySearch(byPrice, 0, byPriceSize, key) - 1;
+            if (byPriceSize == byPrice.length) {
+                byPrice = Arrays.copyOf(byPrice, byPriceSize * 2);
+            }
+            System.arraycopy(byPrice, position, byPrice, position + 1, byPriceSize - position);
+            byPrice[position] = key;
+            byPriceSize++;
+        }
+
+        private void removeFromPriceOrder(int ordinal) {
+            if (byPrice == null) {
+                return;
+            }
+
+            int position = Arrays.binarySearch(byPrice, 0, byPriceSize, priceKey(effectiveCents[ordinal], ordinal));
+            if (position >= 0) {
+                System.arraycopy(byPrice, position + 1, byPrice, position, byPriceSize - position - 1);
+                byPriceSize--;
+            }
+        }
+
+        private static long priceKey(long cents, int ordinal) {
+            return (Math.min(Math.max(cents, 0), MAX_KEY_CENTS) << ORDINAL_BITS) | ordinal;
+        }
+
+        private int insert(Long itemId) {
+            if (size == itemIds.length) {
+                itemIds = Arrays.copyOf(itemIds, size * 2);
+                effectiveCents = Arrays.copyOf(effectiveCents, size * 2);
+            }
+
+            // itemIds stays sorted for cursor lookups, so an id committed after a higher one goes in
+            // ahead of it and every later ordinal moves up by one
+            int ordinal = insertionPoint(itemId);
+            if (ordinal < size) {
+                System.arraycopy(itemIds, ordinal, itemIds, ordinal + 1, size - ordinal);
+                System.arraycopy(effectiveCents, ordinal, effectiveCents, ordinal + 1, size - ordinal);
+                ordinals.replaceAll((id, existing) -> existing >= ordinal ? existing + 1 : existing);
+                shiftUp(live, ordinal);
+                shiftUp(discounted, ordinal);
+                bySize.values().forEach(bits -> shiftUp(bits, ordinal));
+                byColor.values().forEach(bits -> shiftUp(bits, ordinal));
+                byCategory.values().forEach(bits -> shiftUp(bits, ordinal));
+                if (byPrice != null) {
+                    // Moving a key's ordinal up by one keeps its place among the sorted keys
+                    for (int i = 0; i < byPriceSize; i++) {
+                        if ((byPrice[i] & ORDINAL_MASK) >= ordinal) {
+                            byPrice[i]++;
+                        }
+                    }
+                }
+            }
+
+            size++;
+            itemIds[ordinal] = itemId;
+            ordinals.put(itemId, ordinal);
+
+            return ordinal;
+        }
+
+        private static void shiftUp(BitSet bits, int from) {
+            BitSet moved = bits.get(from, Math.max(from, bits.length()));
+            bits.clear(from, Math.max(from, bits.length()));
+            for (int i = moved.nextSetBit(0); i >= 0; i = moved.nextSetBit(i + 1)) {
+                bits.set(from + i + 1);
+            }
+        }
+
+        private void clearBits(int ordinal) {
+            live.clear(ordinal);
+            discounted.clear(ordinal);
+            bySize.values().forEach(bits -> bits.clear(ordinal));
+            byColor.values().forEach(bits -> bits.clear(ordinal));
+            byCategory.values().forEach(bits -> bits.clear(ordinal));
+        }
+
+        private BitSet discountMask(boolean wantDiscounted) {
+            if (wantDiscounted) {
+                return discounted;
+            }
+
+            BitSet regular = (BitSet) live.clone();
+            regular.andNot(discounted);
+            return regular;
+        }
+
+        private static <K> BitSet union(Map<K, BitSet> facet, Set<K> values) {
+            if (values == null) {
+                return null;
+            }
+
+            BitSet mask = new BitSet();
+            values.forEach(value -> {
+                BitSet bits = facet.get(value);
+                if (bits != null) {
+                    mask.or(bits);
+                }
+            });
+
+            return mask;
+        }
+
+        private static BitSet intersect(BitSet base, BitSet... masks) {
+            BitSet result = (BitSet) base.clone();
+            for (BitSet mask : masks) {
+                if (mask != null) {
+                    result.and(mask);
+                }
+            }
+
+            return result;
+        }
+
+        private static int countIn(BitSet bits, BitSet within) {
+            BitSet result = (BitSet) bits.clone();
+            result.and(within);
+            return result.cardinality();
+        }
+
+        private static <K> Map<K, Integer> counts(Map<K, BitSet> facet, BitSet within) {
+            Map<K, Integer> counts = new LinkedHashMap<>();
+            facet.forEach((value, bits) -> {
+                int count = countIn(bits, within);
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            });
+
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Variant families (a root item with its children, grandchildren and so on) keyed by root id, with
+ * every member pointing at its root so that a family is found from any of its items. Only the
+ * membership and the parent links are kept; the items themselves are always read fresh.
+ * <p>
+ * A family is dropped when one of its members, or an item that moves into it, changes. Loads are
+ * stamped: a family read before an invalidation is not stored after it, so a load racing a write
+ * can never bring back a tree the write has already changed.
+ */
+@Component
+public class ItemFamilyCache {
+
+    private final Map<Long, Family> familiesByRoot = new ConcurrentHashMap<>();
+    private final Map<Long, Long> rootByItem = new ConcurrentHashMap<>();
+
+    // Bumped by every invalidation, only written under the lock
+    private volatile long invalidations;
+
+    /**
+     * Returns the cached family the item belongs to, or {@code null} when it has not been loaded.
+     */
+    public Family get(Long itemId) {
+        Long rootId = rootByItem.get(itemId);
+        return rootId == null ? null : familiesByRoot.get(rootId);
+    }
+
+    /**
+     * The value to pass to {@link #put} for a family that is about to be read from the database.
+     */
+    public long stamp() {
+        return invalidations;
+    }
+
+    /**
+     * Stores a loaded family, unless the cache was invalidated after {@code stamp} was taken.
+     */
+    public synchronized void put(Family family, long stamp) {
+        if (stamp != invalidations) {
+            return;
+        }
+
+        familiesByRoot.put(family.rootId(), family);
+        family.memberIds().forEach(id -> rootByItem.put(id, family.rootId()));
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Long newParentId = event.item() != null ? event.item().getParentId() : null;
+        evict(event.itemId(), newParentId);
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        clear();
+    }
+
+    public synchronized void clear() {
+        invalidations++;
+        familiesByRoot.clear();
+        rootByItem.clear();
+    }
+
+    // Drops the family the item was in and the one it now hangs under, which differ after a move
+    private synchronized void evict(Long itemId, Long newParentId) {
+        invalidations++;
+        evictFamilyOf(itemId);
+        if (newParentId != null) {
+            evictFamilyOf(newParentId);
+        }
+    }
+
+    private void evictFamilyOf(Long itemId) {
+        Long rootId = rootByItem.get(itemId);
+        if (rootId == null) {
+            return;
+        }
+
+        Family family = familiesByRoot.remove(rootId);
+        if (family != null) {
+            family.memberIds().forEach(rootByItem::remove);
+        }
+    }
+
+    /**
+     * One variant tree: its root, every member, and each member's children in id order.
+     */
+    public record Family(Long rootId, Set<Long> memberIds, Map<Long, List<Long>> childrenByParent) {
+
+        /**
+         * Builds a family from (id, parent_id) rows that cover a whole tree, root included.
+         */
+        public static Family of(List<Object[]> links) {
+            Long rootId = null;
+            Set<Long> memberIds = new HashSet<>();
+            Map<Long, List<Long>> childrenByParent = new HashMap<>();
+            for (Object[] link : links) {
+                Long id = ((Number) link[0]).longValue();
+                memberIds.add(id);
+                if (link[1] == null) {
+                    rootId = id;
+                } else {
+                    childrenByParent.computeIfAbsent(((Number) link[1]).longValue(), key -> new ArrayList<>()).add(id);
+                }
+            }
+
+            if (rootId == null) {
+                throw new IllegalArgumentException("Family links have no root item");
+            }
+
+            childrenByParent.values().forEach(Collections::sort);
+            Map<Long, List<Long>> frozen = new HashMap<>();
+            childrenByParent.forEach((parentId, children) -> frozen.put(parentId, List.copyOf(children)));
+
+            return new Family(rootId, Set.copyOf(memberIds), Map.copyOf(frozen));
+        }
+
+        public List<Long> childrenOf(Long itemId) {
+            return childrenByParent.getOrDefault(itemId, List.of());
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.projection.ItemTextRow;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import com.dallasdresses.repositories.ItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over item names and descriptions, ranked with BM25. Terms are kept in a sorted
+ * map so the last word of a query can also match as a prefix, which makes search-as-you-type work.
+ * A name hit counts as several description hits.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    // Standard BM25 constants
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ItemRepository itemRepository;
+    private final Timer searchTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (item id -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+    private volatile boolean loaded;
+
+    public ItemSearchIndex(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.searchTimer = Timer.builder("catalog.search.latency")
+                .description("Time spent ranking a catalog search in memory")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the ids of the best matching items, best first, skipping the first {@code offset}.
+     */
+    public Hits search(String text, int offset, int count) {
+        ensureLoaded();
+
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(text)));
+        if (terms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        return searchTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return rank(terms, offset, count);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onItemChanged(ItemChangedEvent event) {
+        ensureLoaded();
+
+        lock.writeLock().lock();
+        try {
+            remove(event.itemId());
+            if (event.item() != null) {
+                add(event.itemId(), event.item().getName(), event.item().getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads every item. Synchronized with {@link #onItemChanged} so that a change is never
+     * overwritten by a rebuild that read the table before the change committed.
+     */
+    public synchronized void rebuild() {
+        List<ItemTextRow> rows = itemRepository.findAllTextRows();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            rows.forEach(row -> add(row.id(), row.name(), row.description()));
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.debug("Rebuilt item search index with {} items and {} terms", rows.size(), postings.size());
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private Hits rank(List<String> terms, int offset, int count) {
+        Map<Long, Double> scores = new HashMap<>();
+        double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            Map<Long, Integer> exact = postings.get(term);
+            if (exact != null) {
+                score(exact, 1.0, averageLength, scores);
+            }
+
+            // Only the word being typed is expanded; earlier words are complete
+            if (i == terms.size() - 1) {
+                int expansions = 0;
+                for (Map<Long, Integer> matches : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                    if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    score(matches, PREFIX_WEIGHT, averageLength, scores);
+                }
+            }
+        }
+
+        // Keep only the top offset + count hits instead of sorting every match
+        int wanted = offset + count;
+        Comparator<Map.Entry<Long, Double>> byRank = Map.Entry.<Long, Double>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(byRank.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(byRank);
+
+        List<Long> itemIds = ranked.stream()
+                .skip(offset)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        return new Hits(itemIds, scores.size());
+    }
+
+    private void score(Map<Long, Integer> matches, double weight, double averageLength, Map<Long, Double> scores) {
+        int documentCount = documents.size();
+        double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+
+        matches.forEach((itemId, frequency) -> {
+            double length = documents.get(itemId).length();
+            double termScore = idf * frequency * (K1 + 1)
+                    / (frequency + K1 * (1 - B + B * length / averageLength));
+            scores.merge(itemId, weight * termScore, Double::sum);
+        });
+    }
+
+    private void add(Long itemId, String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        List<String> nameTokens = tokenize(name);
+        List<String> descriptionTokens = tokenize(description);
+        nameTokens.forEach(token -> frequencies.merge(token, NAME_WEIGHT, Integer::sum));
+        descriptionTokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+
+        int length = nameTokens.size() * NAME_WEIGHT + descriptionTokens.size();
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(itemId, frequency));
+        documents.put(itemId, new Document(frequencies.keySet(), length));
+        totalLength += length;
+    }
+
+    private void remove(Long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+
+        document.terms().forEach(term -> {
+            Map<Long, Integer> matches = postings.get(term);
+            matches.remove(itemId);
+            if (matches.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+        totalLength -= document.length();
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    public record Hits(List<Long> itemIds, int total) {
+    }
+
+    private record Document(Set<String> terms, int length) {
+    }
+}
@@ -0,0 +1,270 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.projection.ItemSortRow;
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import com.dallasdresses.repositories.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed newest-first orderings. For the whole catalog and for every category, item ids are
+ * kept sorted by creation time, so a page is a slice of an array found with one binary search. As
+ * in {@link CategoryItemIndex} the arrays are copy-on-write: readers take the current snapshot
+ * without locking, and an item write replaces only the orderings of the catalog and the categories
+ * the item is or was in. Price-sorted pages come from the price order of {@link ItemFacetIndex}.
+ */
+@Slf4j
+@Component
+public class ItemSortIndex {
+
+    private final ItemRepository itemRepository;
+
+    // Sort keys of every indexed item, only touched by the synchronized writers
+    private final Map<Long, SortKeys> keysByItem = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    public ItemSortIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Returns up to {@code count} items of the category, or of the whole catalog when
+     * {@code categoryId} is {@code null}, newest first after the given position. Creation times
+     * are epoch milliseconds.
+     */
+    public List<SortedItem> findNewest(Long categoryId, Long afterCreatedAt, Long afterId, int count) {
+        Snapshot current = current();
+        Ordering ordering = categoryId == null
+                ? current.global()
+                : current.byCategory().getOrDefault(categoryId, Ordering.EMPTY);
+
+        int index = ordering.size() - 1;
+        if (afterId != null) {
+            int position = ordering.search(afterCreatedAt, afterId);
+            index = (position >= 0 ? position : -position - 1) - 1;
+        }
+
+        List<SortedItem> page = new ArrayList<>(Math.min(count, 64));
+        for (; index >= 0 && page.size() < count; index--) {
+            page.add(new SortedItem(ordering.ids()[index], ordering.values()[index]));
+        }
+
+        return page;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        apply(event.itemId(), event.item());
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Deleting a category removes its join rows, which no item event reports
+        rebuild();
+    }
+
+    @Order(CatalogVersion.REFRESH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads every ordering. Synchronized with {@link #apply} so an item change is never
+     * overwritten by a rebuild that read the table before the change committed.
+     */
+    public synchronized void rebuild() {
+        Map<Long, Set<Long>> categoriesByItem = new HashMap<>();
+        itemRepository.findCategoryMemberships().forEach(row -> categoriesByItem
+                .computeIfAbsent(((Number) row[1]).longValue(), id -> new HashSet<>())
+                .add(((Number) row[0]).longValue()));
+
+        keysByItem.clear();
+        for (ItemSortRow row : itemRepository.findAllSortRows()) {
+            keysByItem.put(row.id(), new SortKeys(
+                    row.createdAt() == null ? 0 : row.createdAt().getTime(),
+                    categoriesByItem.getOrDefault(row.id(), Set.of())));
+        }
+
+        // Sorted once for the catalog; each category picks its items out in the same order
+        List<Long> byCreated = new ArrayList<>(keysByItem.keySet());
+        byCreated.sort(Comparator.<Long>comparingLong(id -> keysByItem.get(id).createdAt())
+                .thenComparingLong(Long::longValue));
+
+        Map<Long, List<Long>> idsByCategory = new HashMap<>();
+        byCreated.forEach(id -> keysByItem.get(id).categoryIds().forEach(categoryId ->
+                idsByCategory.computeIfAbsent(categoryId, key -> new ArrayList<>()).add(id)));
+
+        Map<Long, Ordering> byCategory = new HashMap<>();
+        idsByCategory.forEach((categoryId, ids) -> byCategory.put(categoryId, orderingOf(ids)));
+
+        snapshot = new Snapshot(orderingOf(byCreated), Map.copyOf(byCategory));
+        log.debug("Rebuilt item sort index with {} items", keysByItem.size());
+    }
+
+    /**
+     * Moves an item to its new place in every ordering it belongs to; a {@code null} item removes it.
+     */
+    private synchronized void apply(Long itemId, ItemDto item) {
+        Snapshot current = current();
+        SortKeys previous = keysByItem.get(itemId);
+        SortKeys keys = item == null ? null : SortKeys.of(item, previous);
+        if (Objects.equals(previous, keys)) {
+            return;
+        }
+
+        Ordering global = current.global();
+        Map<Long, Ordering> byCategory = new HashMap<>(current.byCategory());
+        if (previous != null) {
+            global = global.without(previous.createdAt(), itemId);
+            for (Long categoryId : previous.categoryIds()) {
+                Ordering remaining = byCategory.get(categoryId).without(previous.createdAt(), itemId);
+                if (remaining.size() == 0) {
+                    byCategory.remove(categoryId);
+                } else {
+                    byCategory.put(categoryId, remaining);
+                }
+            }
+            keysByItem.remove(itemId);
+        }
+
+        if (keys != null) {
+            global = global.with(keys.createdAt(), itemId);
+            for (Long categoryId : keys.categoryIds()) {
+                byCategory.put(categoryId,
+                        byCategory.getOrDefault(categoryId, Ordering.EMPTY).with(keys.createdAt(), itemId));
+            }
+            keysByItem.put(itemId, keys);
+        }
+
+        snapshot = new Snapshot(global, Map.copyOf(byCategory));
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+
+        return current;
+    }
+
+    private Ordering orderingOf(List<Long> sortedIds) {
+        long[] values = new long[sortedIds.size()];
+        long[] ids = new long[sortedIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = sortedIds.get(i);
+            values[i] = keysByItem.get(ids[i]).createdAt();
+        }
+
+        return new Ordering(values, ids);
+    }
+
+    public record SortedItem(Long id, long sortValue) {
+    }
+
+    private record SortKeys(long createdAt, Set<Long> categoryIds) {
+
+        // An item without a creation time keeps the one it had, or counts as created now
+        static SortKeys of(ItemDto item, SortKeys previous) {
+            Set<Long> categoryIds = item.getCategories() == null
+                    ? Set.of()
+                    : item.getCategories().stream().map(CategoryDto::getId).collect(Collectors.toSet());
+
+            return new SortKeys(
+                    item.getCreatedAt() != null ? item.getCreatedAt().getTime()
+                            : previous != null ? previous.createdAt() : System.currentTimeMillis(),
+                    categoryIds);
+        }
+    }
+
+    private record Snapshot(Ordering global, Map<Long, Ordering> byCategory) {
+    }
+
+    /**
+     * Item ids sorted by (value, id), held as two parallel arrays that are never modified.
+     */
+    private record Ordering(long[] values, long[] ids) {
+
+        static final Ordering EMPTY = new Ordering(new long[0], new long[0]);
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Same contract as {@link Arrays#binarySearch(long[], long)}, on (value, id) pairs.
+         */
+        int search(long value, long id) {
+            int low = 0;
+            int high = ids.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int compared = values[mid] != value ? Long.compare(values[mid], value) : Long.compare(ids[mid], id);
+                if (compared < 0) {
+                    low = mid + 1;
+                } else if (compared > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+
+            return -(low + 1);
+        }
+
+        Ordering with(long value, long id) {
+            int position = search(value, id);
+            if (position >= 0) {
+                return this;
+            }
+
+            int insertAt = -position - 1;
+            return new Ordering(inserted(values, insertAt, value), inserted(ids, insertAt, id));
+        }
+
+        Ordering without(long value, long id) {
+            int position = search(value, id);
+            if (position < 0) {
+                return this;
+            }
+
+            return new Ordering(removed(values, position), removed(ids, position));
+        }
+
+        private static long[] inserted(long[] array, int insertAt, long element) {
+            long[] result = new long[array.length + 1];
+            System.arraycopy(array, 0, result, 0, insertAt);
+            result[insertAt] = element;
+            System.arraycopy(array, insertAt, result, insertAt + 1, array.length - insertAt);
+            return result;
+        }
+
+        private static long[] removed(long[] array, int removeAt) {
+            long[] result = new long[array.length - 1];
+            System.arraycopy(array, 0, result, 0, removeAt);
+            System.arraycopy(array, removeAt + 1, result, removeAt, array.length - removeAt - 1);
+            return result;
+        }
+    }
+}
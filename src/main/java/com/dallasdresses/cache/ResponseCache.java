@@ -0,0 +1,181 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import com.dallasdresses.events.StockChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Serialized catalog responses, bounded by total size and evicted least recently used first
+ * or once expired. Every entry remembers the catalog version it was rendered at and is only
+ * served while that is still the current version, so a write can never leave a stale entry
+ * visible. Writes also drop the affected entries straight away to free the memory.
+ */
+@Component
+public class ResponseCache {
+
+    public enum Tag {
+        ITEMS,
+        CATEGORIES
+    }
+
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private long totalBytes;
+
+    @Value("${app.catalog.response-cache.max-bytes:33554432}")
+    private long maxBytes = 32L * 1024 * 1024;
+
+    // Keeps a few oversized responses from pushing out everything else
+    @Value("${app.catalog.response-cache.max-entry-bytes:1048576}")
+    private long maxEntryBytes = 1024 * 1024;
+
+    @Value("${app.catalog.response-cache.ttl:10m}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public ResponseCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    ResponseCache(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.hits = Counter.builder("catalog.response.cache.requests")
+                .description("Response cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.response.cache.requests")
+                .description("Response cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("catalog.response.cache.evictions")
+                .description("Responses dropped for size, age or invalidation")
+                .register(meterRegistry);
+        Gauge.builder("catalog.response.cache.bytes", this, ResponseCache::size)
+                .description("Bytes held by the response cache")
+                .register(meterRegistry);
+    }
+
+    public synchronized Optional<CachedResponse> get(String key, String version) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && (!cached.version().equals(version) || isExpired(cached))) {
+            remove(key);
+            cached = null;
+        }
+
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(cached);
+    }
+
+    public synchronized void put(String key, Tag tag, String version, String contentType, byte[] identity, byte[] gzip) {
+        CachedResponse cached = new CachedResponse(tag, version, contentType, identity, gzip,
+                clock.millis() + ttl.toMillis());
+        if (cached.weight() > maxEntryBytes) {
+            return;
+        }
+
+        CachedResponse previous = entries.put(key, cached);
+        if (previous != null) {
+            totalBytes -= previous.weight();
+        }
+        totalBytes += cached.weight();
+
+        // Access order puts the least recently used entries first
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().weight();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void invalidate(Set<Tag> tags) {
+        Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CachedResponse cached = iterator.next();
+            if (tags.contains(cached.tag())) {
+                totalBytes -= cached.weight();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        invalidate(Set.of(Tag.ITEMS));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        invalidate(Set.of(Tag.ITEMS));
+    }
+
+    // Entries are keyed by URL rather than item, so any flushed stock change drops the item responses
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        invalidate(Set.of(Tag.ITEMS));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Item responses embed category names and slugs
+        invalidate(Set.of(Tag.ITEMS, Tag.CATEGORIES));
+    }
+
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    private boolean isExpired(CachedResponse cached) {
+        return clock.millis() >= cached.expiresAt();
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.weight();
+            evictions.increment();
+        }
+    }
+
+    public record CachedResponse(Tag tag,
+                                 String version,
+                                 String contentType,
+                                 byte[] identity,
+                                 byte[] gzip,
+                                 long expiresAt) {
+
+        int weight() {
+            return identity.length + gzip.length;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dallasdresses.config;
+
+import com.dallasdresses.sql.InstrumentedDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlInstrumentation {
+
+    // Every statement, from Hibernate or a JdbcTemplate, reports through the wrapped pool; see SqlMetricsFilter
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationDataSourceWrapper(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)
+                        ? new InstrumentedDataSource(dataSource, meterRegistry)
+                        : bean;
+            }
+        };
+    }
+}
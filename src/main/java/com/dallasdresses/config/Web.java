@@ -0,0 +1,34 @@
+package com.dallasdresses.config;
+
+import com.dallasdresses.sql.SqlStatsCallableInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+@Configuration
+public class Web implements WebMvcConfigurer {
+
+    @Value("${app.api.baseurl}")
+    private String baseUrl;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Catalog responses carry ETags; "no-cache" lets clients and CDNs store them but
+        // revalidate every time. Setting it here also stops Spring Security adding "no-store".
+        WebContentInterceptor catalogCaching = new WebContentInterceptor();
+        catalogCaching.addCacheMapping(CacheControl.noCache(), baseUrl + "/items/**", baseUrl + "/categories/**",
+                baseUrl + "/items", baseUrl + "/categories");
+
+        registry.addInterceptor(catalogCaching);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Streamed responses run their SQL off the request thread; count it against the request
+        configurer.registerCallableInterceptors(new SqlStatsCallableInterceptor());
+    }
+}
@@ -0,0 +1,68 @@
+package com.dallasdresses.controllers;
+
+import com.dallasdresses.dtos.common.ApiResponse;
+import com.dallasdresses.dtos.request.CartItemRequest;
+import com.dallasdresses.dtos.response.CartDto;
+import com.dallasdresses.services.CartService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("${app.api.baseurl}/users/{userId}/cart")
+public class CartController {
+
+    private final CartService cartService;
+
+    public CartController(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @GetMapping({"", "/"})
+    public ApiResponse<CartDto> getCart(@PathVariable Long userId) {
+        log.info("🧲 Fetching cart for user with id: {}", userId);
+
+        return cartResponse(cartService.getCart(userId), "Cart retrieved successfully");
+    }
+
+    @PostMapping("/items")
+    public ApiResponse<CartDto> addItem(@PathVariable Long userId, @Valid @RequestBody CartItemRequest request) {
+        log.info("🔔 Adding item {} x{} to cart of user {}", request.getItemId(), request.getQuantity(), userId);
+
+        return cartResponse(cartService.addItem(userId, request), "Item added to cart");
+    }
+
+    @PutMapping("/items/{itemId}")
+    public ApiResponse<CartDto> updateItemQuantity(@PathVariable Long userId, @PathVariable Long itemId,
+                                                   @RequestParam @Min(0) @Max(10) int quantity) {
+        log.info("🔔 Setting quantity of item {} to {} in cart of user {}", itemId, quantity, userId);
+
+        return cartResponse(cartService.updateItemQuantity(userId, itemId, quantity), "Cart updated successfully");
+    }
+
+    @DeleteMapping("/items/{itemId}")
+    public ApiResponse<CartDto> removeItem(@PathVariable Long userId, @PathVariable Long itemId) {
+        log.info("🔔 Removing item {} from cart of user {}", itemId, userId);
+
+        return cartResponse(cartService.removeItem(userId, itemId), "Item removed from cart");
+    }
+
+    private static ApiResponse<CartDto> cartResponse(CartDto cart, String message) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("count", cart.getItems().size());
+        metadata.put("totalQuantity", cart.getTotalQuantity());
+
+        return ApiResponse.<CartDto>builder()
+                .success(true)
+                .data(cart)
+                .metadata(metadata)
+                .message(message)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.dallasdresses.controllers;
 
+import com.dallasdresses.cache.CatalogVersion;
 import com.dallasdresses.dtos.response.CategoryDto;
 import com.dallasdresses.dtos.request.CategoryCreateRequest;
 import com.dallasdresses.dtos.request.CategoryUpdateRequest;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -21,13 +23,18 @@ import java.util.Map;
 public class CategoryController {
 
     private final CategoryServiceImpl categoryService;
+    private final CatalogVersion catalogVersion;
 
-    public CategoryController(CategoryServiceImpl categoryService) {
+    public CategoryController(CategoryServiceImpl categoryService, CatalogVersion catalogVersion) {
         this.categoryService = categoryService;
+        this.catalogVersion = catalogVersion;
     }
 
     @GetMapping("")
-    public ApiResponse<List<CategoryDto>> getCategories() {
+    public ApiResponse<List<CategoryDto>> getCategories(WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.categoriesEtag())) {
+            return null;
+        }
 
         log.info("🧲 Fetching all categories.");
 
@@ -46,7 +53,11 @@ public class CategoryController {
     }
 
     @GetMapping("/{id}")
-    public ApiResponse<CategoryDto> getCategoryById(@NonNull @PathVariable Long id) {
+    public ApiResponse<CategoryDto> getCategoryById(@NonNull @PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.categoriesEtag())) {
+            return null;
+        }
+
         log.info("🧲 Fetching category with id: {}", id);
 
         CategoryDto category = categoryService.getCategoryById(id);
@@ -64,7 +75,11 @@ public class CategoryController {
     }
 
     @GetMapping("/slug/{slug}")
-    public ApiResponse<CategoryDto> getCategoryBySlug(@PathVariable String slug) {
+    public ApiResponse<CategoryDto> getCategoryBySlug(@PathVariable String slug, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.categoriesEtag())) {
+            return null;
+        }
+
         log.info("🧲 Fetching category with slug: {}", slug);
 
         CategoryDto category = categoryService.getCategoryBySlug(slug);
@@ -82,7 +97,11 @@ public class CategoryController {
     }
 
     @GetMapping("/search")
-    public ApiResponse<CategoryDto> getCategoryByName(@RequestParam String name) {
+    public ApiResponse<CategoryDto> getCategoryByName(@RequestParam String name, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.categoriesEtag())) {
+            return null;
+        }
+
         log.info("🧲 Searching categories with name: {}", name);
 
         CategoryDto category = categoryService.getCategoryByName(name);
@@ -1,14 +1,44 @@
 package com.dallasdresses.controllers;
 
+import com.dallasdresses.cache.CatalogVersion;
 import com.dallasdresses.dtos.common.ApiResponse;
+import com.dallasdresses.dtos.projection.ItemDetail;
+import com.dallasdresses.dtos.request.ItemFilterRequest;
+import com.dallasdresses.dtos.request.ItemSort;
+import com.dallasdresses.dtos.response.ImportReportDto;
 import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.dtos.response.ItemFilterResultDto;
+import com.dallasdresses.dtos.response.ItemSearchResultDto;
+import com.dallasdresses.filters.CatalogResponseCacheFilter;
+import com.dallasdresses.imports.ImportFormat;
+import com.dallasdresses.pagination.CursorPage;
+import com.dallasdresses.services.ItemDetailService;
+import com.dallasdresses.services.ItemImportServiceImpl;
 import com.dallasdresses.services.ItemServiceImpl;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,44 +49,241 @@ import java.util.Map;
 public class ItemController {
 
     private final ItemServiceImpl itemService;
+    private final ItemImportServiceImpl itemImportService;
+    private final ItemDetailService itemDetailService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
 
-    public ItemController(ItemServiceImpl itemService) {
+    public ItemController(ItemServiceImpl itemService, ItemImportServiceImpl itemImportService,
+                          ItemDetailService itemDetailService, CatalogVersion catalogVersion,
+                          ObjectMapper objectMapper) {
         this.itemService = itemService;
+        this.itemImportService = itemImportService;
+        this.itemDetailService = itemDetailService;
+        this.catalogVersion = catalogVersion;
+        // Writing to the response stream must not close it after every item
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     @GetMapping({"", "/"})
-    public ApiResponse<List<ItemDto>> getItems() {
-        log.info("🧲 Fetching all items");
+    public ApiResponse<List<ItemDto>> getItems(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(defaultValue = "false") boolean includeTotal,
+                                               @RequestParam(required = false) ItemSort sort,
+                                               WebRequest webRequest) {
+        // The version is read before any query, so a concurrent write can only make the tag older
+        if (webRequest.checkNotModified(catalogVersion.itemsEtag())) {
+            return null;
+        }
 
-        List<ItemDto> items = itemService.getAllItems();
+        log.info("🧲 Fetching items page, cursor: {}", cursor);
+
+        CursorPage<ItemDto> page = itemService.getItemsPage(cursor, limit, sort);
 
         Map<String, Object> metadata =  new HashMap<>();
         metadata.put("filtered", false);
-        metadata.put("totalCount", items.size());
+        metadata.put("count", page.getItems().size());
+        metadata.put("limit", page.getLimit());
+        metadata.put("hasMore", page.isHasMore());
+        metadata.put("nextCursor", page.getNextCursor());
+
+        // Counting scans the whole table, so it is only done when explicitly asked for
+        if (includeTotal) {
+            metadata.put("totalCount", itemService.countItems());
+        }
+
+        return ApiResponse.<List<ItemDto>>builder()
+                .success(true)
+                .data(page.getItems())
+                .metadata(metadata)
+                .message("Items retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/filter")
+    public ApiResponse<List<ItemDto>> filterItems(@Valid @ModelAttribute ItemFilterRequest request,
+                                                  WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.itemsEtag())) {
+            return null;
+        }
+
+        log.info("🧲 Filtering items: {}", request);
+
+        ItemFilterResultDto result = itemService.filterItems(request);
+        CursorPage<ItemDto> page = result.getPage();
+
+        Map<String, Object> metadata =  new HashMap<>();
+        metadata.put("filtered", true);
+        metadata.put("filterType", "facets");
+        metadata.put("count", page.getItems().size());
+        metadata.put("limit", page.getLimit());
+        metadata.put("hasMore", page.isHasMore());
+        metadata.put("nextCursor", page.getNextCursor());
+        metadata.put("totalCount", result.getTotalCount());
+        metadata.put("facets", result.getFacets());
 
         return ApiResponse.<List<ItemDto>>builder()
                 .success(true)
-                .data(items)
+                .data(page.getItems())
                 .metadata(metadata)
                 .message("Items retrieved successfully")
                 .build();
     }
 
+    @GetMapping("/search")
+    public ApiResponse<List<ItemDto>> searchItems(@RequestParam String q,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) Integer offset,
+                                                  WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.itemsEtag())) {
+            return null;
+        }
+
+        log.info("🧲 Searching items for: {}", q);
+
+        ItemSearchResultDto result = itemService.searchItems(q, limit, offset);
+
+        Map<String, Object> metadata =  new HashMap<>();
+        metadata.put("filtered", true);
+        metadata.put("filterType", "search");
+        metadata.put("filterValue", q);
+        metadata.put("count", result.getItems().size());
+        metadata.put("limit", result.getLimit());
+        metadata.put("offset", result.getOffset());
+        metadata.put("hasMore", result.getOffset() + result.getItems().size() < result.getTotalHits());
+        metadata.put("totalCount", result.getTotalHits());
+
+        return ApiResponse.<List<ItemDto>>builder()
+                .success(true)
+                .data(result.getItems())
+                .metadata(metadata)
+                .message("Items retrieved successfully")
+                .build();
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        log.info("🧲 Exporting catalog as NDJSON");
+
+        // Runs on the async request thread; the service opens its own read-only transaction there
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writer();
+            long exported = itemService.exportItems(chunk -> {
+                try {
+                    for (ItemDto item : chunk) {
+                        writer.writeValue(outputStream, item);
+                        outputStream.write('\n');
+                    }
+                    outputStream.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+
+            log.info("🧶 Exported {} items", exported);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ApiResponse<ImportReportDto> importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                    InputStream body) {
+        log.info("🔔 Importing items from {}", contentType);
+
+        ImportReportDto report = itemImportService.importItems(body, ImportFormat.fromContentType(contentType));
+
+        log.info("🧶 Imported {} items", report.getImported());
+
+        return ApiResponse.<ImportReportDto>builder()
+                .success(!report.isAborted())
+                .data(report)
+                .metadata(new HashMap<>())
+                .message(report.isAborted() ? "Import stopped at malformed input" : "Import completed")
+                .build();
+    }
+
+    @GetMapping("/{id}/family")
+    public ApiResponse<ItemDto> getItemFamily(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.itemsEtag())) {
+            return null;
+        }
+
+        log.info("🧲 Fetching variant family of item with id: {}", id);
+
+        ItemDto root = itemService.getItemFamily(id);
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("rootId", root.getId());
+
+        return ApiResponse.<ItemDto>builder()
+                .success(true)
+                .data(root)
+                .metadata(metadata)
+                .message("Item family retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/{id}/detail")
+    public ApiResponse<ItemDto> getItemDetail(@PathVariable Long id, HttpServletRequest request,
+                                              HttpServletResponse response, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.itemsEtag())) {
+            return null;
+        }
+
+        log.info("🧲 Fetching detail of item with id: {}", id);
+
+        ItemDetail detail = itemDetailService.getItemDetail(id);
+        if (!detail.missing().isEmpty()) {
+            // A page missing parts is served as is, but must not be replayed from the cache or
+            // kept by the client against the catalog ETag
+            request.setAttribute(CatalogResponseCacheFilter.SKIP_CACHE_ATTRIBUTE, true);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("familyRootId", detail.familyRootId());
+        metadata.put("complete", detail.missing().isEmpty());
+        metadata.put("missing", detail.missing());
+
+        return ApiResponse.<ItemDto>builder()
+                .success(true)
+                .data(detail.item())
+                .metadata(metadata)
+                .message("Item detail retrieved successfully")
+                .build();
+    }
+
     @GetMapping("/{slug}")
-    public ApiResponse<List<ItemDto>> getItems(@PathVariable String slug) {
-        log.info("🧲 Fetching items by Slug {}", slug);
+    public ApiResponse<List<ItemDto>> getItems(@PathVariable String slug,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) ItemSort sort,
+                                               WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogVersion.itemsEtag())) {
+            return null;
+        }
+
+        log.info("🧲 Fetching items by Slug {}, cursor: {}, sort: {}", slug, cursor, sort);
 
-        List<ItemDto> items = itemService.getItemsByCategory(slug);
+        CursorPage<ItemDto> page = itemService.getItemsByCategory(slug, cursor, limit, sort);
 
         Map<String, Object> metadata =  new HashMap<>();
         metadata.put("filtered", true);
         metadata.put("filterType", "category");
         metadata.put("filterValue", slug);
-        metadata.put("totalCount", items.size());
+        metadata.put("count", page.getItems().size());
+        metadata.put("limit", page.getLimit());
+        metadata.put("hasMore", page.isHasMore());
+        metadata.put("nextCursor", page.getNextCursor());
+        // Read from the in-memory category index, so the total costs no query here
+        metadata.put("totalCount", itemService.countItemsByCategory(slug));
 
         return ApiResponse.<List<ItemDto>>builder()
                 .success(true)
-                .data(items)
+                .data(page.getItems())
                 .metadata(metadata)
                 .message("Items retrieved successfully")
                 .build();
@@ -0,0 +1,47 @@
+package com.dallasdresses.controllers;
+
+import com.dallasdresses.dtos.common.ApiResponse;
+import com.dallasdresses.dtos.request.OrderCreateRequest;
+import com.dallasdresses.dtos.response.OrderDto;
+import com.dallasdresses.services.OrderService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("${app.api.baseurl}/users/{userId}/orders")
+public class OrderController {
+
+    private final OrderService orderService;
+
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @PostMapping({"", "/"})
+    public ApiResponse<OrderDto> placeOrder(
+            @PathVariable Long userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody OrderCreateRequest request) {
+        log.info("🔔 Placing order for user {} with idempotency key: {}", userId, idempotencyKey);
+
+        OrderDto order = orderService.placeOrder(userId, idempotencyKey, request);
+
+        log.info("🧶 Placed order: {}", order.getId());
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("count", order.getItems().size());
+        metadata.put("totalQuantity", order.getTotalQuantity());
+
+        return ApiResponse.<OrderDto>builder()
+                .success(true)
+                .data(order)
+                .metadata(metadata)
+                .message("Order placed successfully")
+                .build();
+    }
+}
@@ -2,13 +2,20 @@ package com.dallasdresses.controllers;
 
 import com.dallasdresses.dtos.request.UserCreateRequest;
 import com.dallasdresses.dtos.request.UserUpdateRequest;
+import com.dallasdresses.dtos.response.ImportReportDto;
 import com.dallasdresses.dtos.response.UserDto;
 import com.dallasdresses.dtos.common.ApiResponse;
+import com.dallasdresses.imports.ImportFormat;
+import com.dallasdresses.pagination.CursorPage;
+import com.dallasdresses.services.UserImportService;
 import com.dallasdresses.services.UserService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.*;
 
 @Slf4j
@@ -17,24 +24,30 @@ import java.util.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService) {
         this.userService = userService;
+        this.userImportService = userImportService;
     }
 
     @GetMapping("")
-    public ApiResponse<List<UserDto>> getAllUsers() {
-        log.info("🧲 Fetching all users");
+    public ApiResponse<List<UserDto>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        log.info("🧲 Fetching users page, cursor: {}", cursor);
 
-        List<UserDto> userDtos = userService.getAllUsers();
+        CursorPage<UserDto> page = userService.getUsersPage(cursor, limit);
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("filtered", false);
-        metadata.put("totalCount", userDtos.size());
+        metadata.put("count", page.getItems().size());
+        metadata.put("limit", page.getLimit());
+        metadata.put("hasMore", page.isHasMore());
+        metadata.put("nextCursor", page.getNextCursor());
 
         return ApiResponse.<List<UserDto>>builder()
                 .success(true)
-                .data(userDtos)
+                .data(page.getItems())
                 .metadata(metadata)
                 .message("Users retrieved successfully")
                 .build();
@@ -93,6 +106,23 @@ public class UserController {
                 .build();
     }
 
+    @PostMapping(value = "/import", consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ApiResponse<ImportReportDto> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                    InputStream body) {
+        log.info("🔔 Importing users from {}", contentType);
+
+        ImportReportDto report = userImportService.importUsers(body, ImportFormat.fromContentType(contentType));
+
+        log.info("🧶 Imported {} user rows", report.getImported());
+
+        return ApiResponse.<ImportReportDto>builder()
+                .success(!report.isAborted())
+                .data(report)
+                .metadata(new HashMap<>())
+                .message(report.isAborted() ? "Import stopped at malformed input" : "Import completed")
+                .build();
+    }
+
     @PutMapping("/{id}")
     public ApiResponse<UserDto> updateUser(@Valid @RequestBody UserUpdateRequest request) {
         log.info("🔔 Updating user with id: {}", request.getId());
@@ -1,5 +1,6 @@
 package com.dallasdresses.converters;
 
+import com.dallasdresses.cache.CountryCache;
 import com.dallasdresses.dtos.response.AddressDto;
 import com.dallasdresses.entities.Address;
 import org.springframework.core.convert.converter.Converter;
@@ -9,6 +10,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class AddressToAddressDtoConverter implements Converter<Address, AddressDto> {
 
+    private final CountryCache countryCache;
+
+    public AddressToAddressDtoConverter(CountryCache countryCache) {
+        this.countryCache = countryCache;
+    }
+
     @Override
     public AddressDto convert(@NonNull Address address) {
 
@@ -19,7 +26,9 @@ public class AddressToAddressDtoConverter implements Converter<Address, AddressD
                 address.getAddressLine2(),
                 address.getCity(),
                 address.getState(),
-                address.getCountry().getName(),
+                // getId() does not initialize a lazy country proxy; getName() would
+                countryCache.findNameById(address.getCountry().getId())
+                        .orElseGet(() -> address.getCountry().getName()),
                 address.getPostalCode(),
                 address.getCreatedAt(),
                 address.getUpdatedAt()
@@ -0,0 +1,36 @@
+package com.dallasdresses.converters;
+
+import com.dallasdresses.dtos.projection.ItemRow;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.pricing.PriceCalculator;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+
+@Component
+public class ItemRowToItemDtoConverter implements Converter<ItemRow, ItemDto> {
+
+    @Override
+    public ItemDto convert(@NonNull ItemRow source) {
+        return ItemDto.builder()
+                .id(source.id())
+                .name(source.name())
+                .description(source.description())
+                .color(source.color())
+                .size(source.size())
+                .stock(source.stock())
+                .price(source.price())
+                .discountType(source.discountType())
+                .discountValue(source.discountValue())
+                .effectivePrice(PriceCalculator.effectivePrice(
+                        source.price(), source.discountType(), source.discountValue()))
+                .parentId(source.parentId())
+                .categories(new HashSet<>())
+                .itemImages(new HashSet<>())
+                .createdAt(source.createdAt())
+                .updatedAt(source.updatedAt())
+                .build();
+    }
+}
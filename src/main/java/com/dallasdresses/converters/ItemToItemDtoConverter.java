@@ -2,6 +2,7 @@ package com.dallasdresses.converters;
 
 import com.dallasdresses.dtos.response.ItemDto;
 import com.dallasdresses.entities.Item;
+import com.dallasdresses.pricing.PriceCalculator;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
@@ -33,6 +34,8 @@ public class ItemToItemDtoConverter implements Converter<Item, ItemDto> {
                 .price(source.getPrice())
                 .discountType(source.getDiscountType())
                 .discountValue(source.getDiscountValue())
+                .effectivePrice(PriceCalculator.effectivePrice(
+                        source.getPrice(), source.getDiscountType(), source.getDiscountValue()))
                 .parentId(source.getParent() != null ? source.getParent().getId() : null)
                 .categories(source.getCategories() != null
                         ? source.getCategories().stream()
@@ -0,0 +1,10 @@
+package com.dallasdresses.dtos.projection;
+
+import java.math.BigDecimal;
+
+public record CartLineRow(
+        Long itemId,
+        Integer quantity,
+        BigDecimal priceAtAdd
+) {
+}
@@ -0,0 +1,9 @@
+package com.dallasdresses.dtos.projection;
+
+import com.dallasdresses.dtos.response.CartDto;
+
+public record CartSnapshot(
+        Long cartId,
+        CartDto cart
+) {
+}
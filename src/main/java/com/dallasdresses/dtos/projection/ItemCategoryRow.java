@@ -0,0 +1,7 @@
+package com.dallasdresses.dtos.projection;
+
+/**
+ * One item_category link together with the category columns the catalog needs.
+ */
+public record ItemCategoryRow(Long itemId, Long categoryId, String name, String slug) {
+}
@@ -0,0 +1,16 @@
+package com.dallasdresses.dtos.projection;
+
+import com.dallasdresses.dtos.response.ItemDto;
+
+import java.util.List;
+
+/**
+ * A product page's item with whatever parts could be read in time; {@code missing} names the
+ * parts left out, and {@code familyRootId} is {@code null} when the family is one of them.
+ */
+public record ItemDetail(
+        ItemDto item,
+        Long familyRootId,
+        List<String> missing
+) {
+}
@@ -0,0 +1,19 @@
+package com.dallasdresses.dtos.projection;
+
+import com.dallasdresses.entities.enums.DiscountType;
+import com.dallasdresses.entities.enums.DressSize;
+
+import java.math.BigDecimal;
+
+/**
+ * The item columns the facet index filters on; leaves out the description @Lob.
+ */
+public record ItemFacetRow(
+        Long id,
+        DressSize size,
+        String color,
+        BigDecimal price,
+        DiscountType discountType,
+        Double discountValue
+) {
+}
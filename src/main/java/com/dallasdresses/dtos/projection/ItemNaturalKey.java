@@ -0,0 +1,9 @@
+package com.dallasdresses.dtos.projection;
+
+import com.dallasdresses.entities.enums.DressSize;
+
+/**
+ * The columns that make an item unique, as checked by existsByNameAndColorAndSize.
+ */
+public record ItemNaturalKey(String name, String color, DressSize size) {
+}
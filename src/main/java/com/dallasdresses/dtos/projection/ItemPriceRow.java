@@ -0,0 +1,21 @@
+package com.dallasdresses.dtos.projection;
+
+import com.dallasdresses.entities.enums.DiscountType;
+import com.dallasdresses.pricing.PriceCalculator;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns needed to price an item, without loading the entity and its associations.
+ */
+public record ItemPriceRow(
+        Long id,
+        BigDecimal price,
+        DiscountType discountType,
+        Double discountValue
+) {
+
+    public BigDecimal unitPrice() {
+        return PriceCalculator.effectivePrice(price, discountType, discountValue);
+    }
+}
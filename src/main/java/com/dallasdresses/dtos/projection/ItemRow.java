@@ -0,0 +1,26 @@
+package com.dallasdresses.dtos.projection;
+
+import com.dallasdresses.entities.enums.DiscountType;
+import com.dallasdresses.entities.enums.DressSize;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Flat item columns selected straight into a DTO, without hydrating a managed Item.
+ */
+public record ItemRow(
+        Long id,
+        String name,
+        String description,
+        String color,
+        DressSize size,
+        Integer stock,
+        BigDecimal price,
+        DiscountType discountType,
+        Double discountValue,
+        Long parentId,
+        Timestamp createdAt,
+        Timestamp updatedAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.dallasdresses.dtos.projection;
+
+import java.sql.Timestamp;
+
+/**
+ * The item columns the catalog is sorted by.
+ */
+public record ItemSortRow(
+        Long id,
+        Timestamp createdAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.dallasdresses.dtos.projection;
+
+/**
+ * The searchable text of an item.
+ */
+public record ItemTextRow(Long id, String name, String description) {
+}
@@ -0,0 +1,38 @@
+package com.dallasdresses.dtos.request;
+
+import com.dallasdresses.entities.enums.DressSize;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemFilterRequest {
+
+    private Set<DressSize> sizes;
+
+    private Set<String> colors;
+
+    private Set<String> categories;
+
+    @Min(value = 0, message = "Minimum price cannot be negative")
+    private BigDecimal minPrice;
+
+    @Min(value = 0, message = "Maximum price cannot be negative")
+    private BigDecimal maxPrice;
+
+    private Boolean discounted;
+
+    private ItemSort sort;
+
+    private String cursor;
+
+    private Integer limit;
+}
@@ -0,0 +1,11 @@
+package com.dallasdresses.dtos.request;
+
+/**
+ * Orders a catalog page. Prices compare by effective price, ties by item id.
+ */
+public enum ItemSort {
+    ID,
+    PRICE_ASC,
+    PRICE_DESC,
+    NEWEST
+}
@@ -0,0 +1,17 @@
+package com.dallasdresses.dtos.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCreateRequest {
+
+    @NotNull(message = "Address id is required")
+    private Long addressId;
+}
@@ -0,0 +1,88 @@
+package com.dallasdresses.dtos.request;
+
+import com.dallasdresses.entities.enums.AddressType;
+import com.dallasdresses.entities.enums.UserRole;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.validator.constraints.URL;
+
+/**
+ * One line of a bulk user import: a user and at most one of their addresses. Flat so that it
+ * maps onto a CSV row as well as onto an NDJSON object. A user with several addresses takes one
+ * line per address; the user columns are read from the first line with that email.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRow {
+
+    @Email
+    @NotBlank(message = "User email is required")
+    private String email;
+
+    @NotNull(message = "User role is required")
+    private UserRole role;
+
+    @NotBlank(message = "User locale is required")
+    @Size(min = 2, max = 2)
+    private String locale;
+
+    @Size(min = 1, max = 50, message = "First name must be between 1 and 50 characters")
+    private String firstName;
+
+    @Size(min = 1, max = 50, message = "Last name must be between 1 and 50 characters")
+    private String lastName;
+
+    @Pattern(
+            regexp = "^\\+?[1-9]\\d{1,14}$",
+            message = "Invalid phone number format (E.164 format)"
+    )
+    private String telephone;
+
+    @URL
+    private String avatar;
+
+    private AddressType addressType;
+
+    @Size(max = 255)
+    private String addressLine1;
+
+    @Size(max = 255)
+    private String addressLine2;
+
+    @Size(max = 100)
+    private String city;
+
+    @Size(max = 100)
+    private String state;
+
+    @Size(max = 100)
+    private String country;
+
+    @Size(min = 5, max = 10)
+    @Pattern(regexp = "^[0-9-]+$", message = "Invalid postal code format")
+    private String postalCode;
+
+    public boolean hasAddress() {
+        return addressType != null || isPresent(addressLine1) || isPresent(addressLine2) || isPresent(city)
+                || isPresent(state) || isPresent(country) || isPresent(postalCode);
+    }
+
+    @AssertTrue(message = "Address requires type, line 1, city, state, country and postal code")
+    public boolean isCompleteAddress() {
+        if (!hasAddress()) {
+            return true;
+        }
+
+        return addressType != null && isPresent(addressLine1) && isPresent(city) && isPresent(state)
+                && isPresent(country) && isPresent(postalCode);
+    }
+
+    private static boolean isPresent(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,20 @@
+package com.dallasdresses.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartDto {
+    private Long userId;
+    private List<CartItemDto> items;
+    private Integer totalQuantity;
+    private BigDecimal subtotal;
+}
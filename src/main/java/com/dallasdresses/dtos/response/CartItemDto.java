@@ -0,0 +1,19 @@
+package com.dallasdresses.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemDto {
+    private Long itemId;
+    private Integer quantity;
+    private BigDecimal priceAtAdd;
+    private BigDecimal lineTotal;
+}
@@ -0,0 +1,23 @@
+package com.dallasdresses.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+
+    private int processed;
+    private int imported;
+    private int duplicates;
+    private int failed;
+    // Capped, so a badly broken file cannot fill the heap with messages; see failed for the total
+    private List<ImportRowErrorDto> errors;
+    private boolean aborted;
+}
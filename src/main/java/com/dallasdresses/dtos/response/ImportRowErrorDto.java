@@ -0,0 +1,17 @@
+package com.dallasdresses.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDto {
+
+    // 1-based position of the record in the file, not counting a CSV header
+    private int row;
+    private String message;
+}
@@ -27,6 +27,7 @@ public class ItemDto {
     private BigDecimal price;
     private DiscountType discountType;
     private Double discountValue;
+    private BigDecimal effectivePrice;
     private Long parentId;
     private List<ItemDto> children;
     private Set<CategoryDto> categories;
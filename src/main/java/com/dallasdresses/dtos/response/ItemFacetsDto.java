@@ -0,0 +1,26 @@
+package com.dallasdresses.dtos.response;
+
+import com.dallasdresses.entities.enums.DressSize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Number of matching items per facet value. Each facet is counted with every other active
+ * filter applied but not its own, so the counts show what selecting another value would return.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemFacetsDto {
+
+    private Map<DressSize, Integer> sizes;
+    private Map<String, Integer> colors;
+    private Map<String, Integer> categories;
+    private int discounted;
+    private int regular;
+}
@@ -0,0 +1,18 @@
+package com.dallasdresses.dtos.response;
+
+import com.dallasdresses.pagination.CursorPage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemFilterResultDto {
+
+    private CursorPage<ItemDto> page;
+    private ItemFacetsDto facets;
+    private int totalCount;
+}
@@ -0,0 +1,20 @@
+package com.dallasdresses.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSearchResultDto {
+
+    private List<ItemDto> items;
+    private int totalHits;
+    private int offset;
+    private int limit;
+}
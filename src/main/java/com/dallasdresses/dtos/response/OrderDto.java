@@ -0,0 +1,31 @@
+package com.dallasdresses.dtos.response;
+
+import com.dallasdresses.entities.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDto {
+    private Long id;
+    private Long userId;
+    private OrderStatus status;
+    private List<CartItemDto> items;
+    private Integer totalQuantity;
+    private BigDecimal subtotal;
+    private String addressLine1;
+    private String addressLine2;
+    private String city;
+    private String state;
+    private String country;
+    private String postalCode;
+    private Timestamp createdAt;
+}
@@ -47,6 +47,8 @@ public class Address {
     @NotNull
     @ManyToOne(optional = false,  fetch = FetchType.LAZY)
     @JoinColumn(name = "country_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Country country;
 
     @NotBlank
@@ -2,23 +2,24 @@ package com.dallasdresses.entities;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 
 import java.util.HashSet;
 import java.util.Set;
 
-@Data
+@Getter
+@Setter
 @Entity
 @Builder
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "categories")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Category {
 
     @Id
+    @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -28,7 +29,9 @@ public class Category {
     @NotBlank
     private String slug;
 
+    // Excluded from equality and toString so hashing a category never loads its items
     @Builder.Default
+    @ToString.Exclude
     @ManyToMany(mappedBy = "categories")
     private Set<Item> items = new HashSet<>();
 }
@@ -7,7 +7,9 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -19,9 +21,10 @@ import java.util.Set;
 @Setter
 @Entity
 @Builder
+@DynamicUpdate
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "items")
+@Table(name = "items", indexes = @Index(name = "idx_items_created_at_id", columnList = "created_at, id"))
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Item {
 
@@ -77,7 +80,10 @@ public class Item {
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "item", orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<ItemImage> itemImages = new HashSet<>();
 
+    // Keyset pagination orders on (createdAt, id), so rows seeded outside Hibernate need a value too
     @CreationTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(nullable = false, updatable = false)
     private Timestamp createdAt;
 
     @UpdateTimestamp
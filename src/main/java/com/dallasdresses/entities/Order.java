@@ -6,25 +6,53 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 
 @Data
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_user_idempotency_key", columnNames = {"user_id", "idempotency_key"})
+})
 public class Order {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // A cart becomes the order's line snapshot, so it can back only one order
+    @NotNull
     @OneToOne
+    @JoinColumn(name = "cart_id", unique = true, nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Cart cart;
 
-    @OneToOne
+    @NotNull
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @NotNull
+    @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
+    @Size(max = 64)
+    private String idempotencyKey;
+
+    // What the request asked for, so a reused key with a different body is refused
+    @Size(max = 255)
+    private String requestFingerprint;
+
+    @NotNull
+    private BigDecimal subtotal;
+
     @NotBlank
     private String addressLine1;
 
@@ -42,4 +70,7 @@ public class Order {
     @NotBlank
     @Size(min = 5, max = 10)
     private String postalCode;
+
+    @CreationTimestamp
+    private Timestamp createdAt;
 }
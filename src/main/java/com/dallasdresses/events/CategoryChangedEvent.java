@@ -0,0 +1,7 @@
+package com.dallasdresses.events;
+
+/**
+ * Published by the category service whenever a category is created, updated or deleted.
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,28 @@
+package com.dallasdresses.events;
+
+import com.dallasdresses.dtos.response.ItemDto;
+
+/**
+ * Published by the item service after an item is written. {@code item} holds the state
+ * after the change and is {@code null} for deletions.
+ */
+public record ItemChangedEvent(ChangeType type, Long itemId, ItemDto item) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ItemChangedEvent created(ItemDto item) {
+        return new ItemChangedEvent(ChangeType.CREATED, item.getId(), item);
+    }
+
+    public static ItemChangedEvent updated(ItemDto item) {
+        return new ItemChangedEvent(ChangeType.UPDATED, item.getId(), item);
+    }
+
+    public static ItemChangedEvent deleted(Long itemId) {
+        return new ItemChangedEvent(ChangeType.DELETED, itemId, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dallasdresses.events;
+
+/**
+ * Published once a bulk import has written its items. Imports bypass the per-item events,
+ * so listeners reload whatever they derive from the item tables.
+ */
+public record ItemsImportedEvent(int importedCount) {
+}
@@ -0,0 +1,11 @@
+package com.dallasdresses.events;
+
+import java.util.Set;
+
+/**
+ * Published once stock changes have been written to the items table, by the inventory flush or
+ * with a batch of orders. Stock moves outside the item write path, so it has no
+ * {@link ItemChangedEvent} of its own.
+ */
+public record StockChangedEvent(Set<Long> itemIds) {
+}
@@ -0,0 +1,8 @@
+package com.dallasdresses.exceptions;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String idempotencyKey) {
+        super("Idempotency key '" + idempotencyKey + "' was already used for a different request");
+    }
+}
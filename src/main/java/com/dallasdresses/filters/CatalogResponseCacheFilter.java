@@ -0,0 +1,175 @@
+package com.dallasdresses.filters;
+
+import com.dallasdresses.cache.CatalogVersion;
+import com.dallasdresses.cache.ResponseCache;
+import com.dallasdresses.cache.ResponseCache.CachedResponse;
+import com.dallasdresses.cache.ResponseCache.Tag;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves repeated catalog GETs from {@link ResponseCache} without touching the controllers,
+ * the database or Jackson. Misses render normally and store the bytes, both as-is and gzipped,
+ * when the response is a 200 and the catalog did not change while it was being rendered.
+ */
+@Component
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute a controller sets to keep an incomplete response out of the cache.
+     */
+    public static final String SKIP_CACHE_ATTRIBUTE = CatalogResponseCacheFilter.class.getName() + ".SKIP";
+
+    private final ResponseCache responseCache;
+    private final CatalogVersion catalogVersion;
+
+    @Value("${app.api.baseurl}")
+    private String baseUrl;
+
+    @Value("${app.catalog.response-cache.enabled:true}")
+    private boolean enabled = true;
+
+    public CatalogResponseCacheFilter(ResponseCache responseCache, CatalogVersion catalogVersion) {
+        this.responseCache = responseCache;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+                || !HttpMethod.GET.matches(request.getMethod())
+                || tagOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Tag tag = tagOf(request);
+        String key = keyOf(request);
+        String version = currentVersion(tag);
+
+        Optional<CachedResponse> cached = responseCache.get(key, version);
+        if (cached.isPresent()) {
+            write(cached.get(), request, response);
+            return;
+        }
+
+        // A later hit for the same URL may be served gzipped, so shared caches must key on the encoding
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        // A write that committed meanwhile may or may not be in the body, so it is not kept
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && version.equals(currentVersion(tag))
+                && request.getAttribute(SKIP_CACHE_ATTRIBUTE) == null) {
+            byte[] body = wrapper.getContentAsByteArray();
+            responseCache.put(key, tag, version, wrapper.getContentType(), body, gzip(body));
+        }
+
+        wrapper.copyBodyToResponse();
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Same caching policy the controllers get from the WebContentInterceptor
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(cached.version())) {
+            return;
+        }
+
+        boolean gzip = acceptsGzip(request);
+        byte[] body = gzip ? cached.gzip() : cached.identity();
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.getOutputStream().write(body);
+    }
+
+    private Tag tagOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        // The export streams the whole catalog and is far too large to hold in memory
+        if (path.equals(baseUrl + "/items/export")) {
+            return null;
+        }
+
+        if (path.equals(baseUrl + "/items") || path.startsWith(baseUrl + "/items/")) {
+            return Tag.ITEMS;
+        }
+
+        if (path.equals(baseUrl + "/categories") || path.startsWith(baseUrl + "/categories/")) {
+            return Tag.CATEGORIES;
+        }
+
+        return null;
+    }
+
+    private String currentVersion(Tag tag) {
+        return tag == Tag.ITEMS ? catalogVersion.itemsEtag() : catalogVersion.categoriesEtag();
+    }
+
+    /**
+     * Route plus parameters in a fixed order, so ?a=1&b=2 and ?b=2&a=1 share an entry. Names and
+     * values are decoded by then and encoded again, so a value holding {@code &} or {@code =}
+     * cannot pass for another parameter's entry.
+     */
+    private static String keyOf(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator)
+                        .append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+
+        return key.toString();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return compressed.toByteArray();
+    }
+}
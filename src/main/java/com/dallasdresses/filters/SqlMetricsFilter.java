@@ -0,0 +1,117 @@
+package com.dallasdresses.filters;
+
+import com.dallasdresses.sql.SqlRequestStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the statements, JDBC time and entity loads of each request, tagged by method and route
+ * pattern. The filter wraps the whole chain, so SQL run by lazy loading while the response is
+ * serialized counts too, as does SQL the request hands to the item detail pool or, for an async
+ * handler such as the export, runs on the async thread; an async request is recorded on the
+ * dispatch that completes it. Requests that never reached a controller, such as response cache
+ * hits, are not recorded.
+ * <p>
+ * A request over {@code app.sql.budget.max-statements} is logged and counted, and with
+ * {@code app.sql.budget.fail=true}, as set in tests, it fails with an {@link IllegalStateException}.
+ * The check runs after the chain, when the response has usually been committed already: a real
+ * client still gets the full response and the exception only reaches the container's log, so the
+ * failure is only observable from MockMvc tests, where it propagates to {@code perform}.
+ */
+@Slf4j
+@Component
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    // Zero switches the budget off
+    @Value("${app.sql.budget.max-statements:0}")
+    private long maxStatements;
+
+    @Value("${app.sql.budget.fail:false}")
+    private boolean failOnExceeded;
+
+    public SqlMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // An async dispatch carries on with the tracker the request started
+        Object tracker = request.getAttribute(SqlRequestStats.TRACKER_ATTRIBUTE);
+        if (isAsyncDispatch(request) && tracker instanceof SqlRequestStats.Tracker started) {
+            SqlRequestStats.attach(started);
+        } else {
+            request.setAttribute(SqlRequestStats.TRACKER_ATTRIBUTE, SqlRequestStats.begin());
+        }
+
+        SqlRequestStats.Snapshot stats;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats = SqlRequestStats.end();
+        }
+
+        if (isAsyncStarted(request)) {
+            return;
+        }
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route == null) {
+            return;
+        }
+
+        String method = request.getMethod();
+        DistributionSummary.builder("sql.request.statements")
+                .description("SQL statements prepared per request")
+                .tags("method", method, "route", route.toString())
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("sql.request.jdbc.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags("method", method, "route", route.toString())
+                .register(meterRegistry)
+                .record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("sql.request.entity.loads")
+                .description("Entities hydrated per request")
+                .tags("method", method, "route", route.toString())
+                .register(meterRegistry)
+                .record(stats.entityLoads());
+
+        if (maxStatements > 0 && stats.statements() > maxStatements) {
+            Counter.builder("sql.request.budget.exceeded")
+                    .description("Requests that prepared more statements than the budget allows")
+                    .tags("method", method, "route", route.toString())
+                    .register(meterRegistry)
+                    .increment();
+            String message = method + " " + route + " prepared " + stats.statements()
+                    + " statements, over the budget of " + maxStatements;
+            if (failOnExceeded) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.dallasdresses.imports;
+
+import com.dallasdresses.exceptions.InvalidEntityException;
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+                return CSV;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return NDJSON;
+            }
+        }
+
+        throw new InvalidEntityException("Import must be sent as " + TEXT_CSV_VALUE + " or "
+                + MediaType.APPLICATION_NDJSON_VALUE);
+    }
+}
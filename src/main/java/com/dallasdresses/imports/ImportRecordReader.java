@@ -0,0 +1,45 @@
+package com.dallasdresses.imports;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Opens an import file as a lazy iterator of records, so only the record being processed is in
+ * memory. CSV files need a header row; list columns use '|' between values and empty cells
+ * read as null.
+ */
+@Component
+public class ImportRecordReader {
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema()
+            .withHeader()
+            .withArrayElementSeparator("|");
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    public ImportRecordReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build();
+    }
+
+    public <T> MappingIterator<T> open(InputStream inputStream, ImportFormat format, Class<T> type) throws IOException {
+        return switch (format) {
+            case CSV -> csvMapper.readerFor(type).with(CSV_SCHEMA).readValues(inputStream);
+            // Root-level values separated by whitespace, which covers one object per line
+            case NDJSON -> objectMapper.readerFor(type).readValues(inputStream);
+        };
+    }
+}
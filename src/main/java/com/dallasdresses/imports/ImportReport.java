@@ -0,0 +1,61 @@
+package com.dallasdresses.imports;
+
+import com.dallasdresses.dtos.response.ImportReportDto;
+import com.dallasdresses.dtos.response.ImportRowErrorDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running totals of an import.
+ */
+public class ImportReport {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final List<ImportRowErrorDto> errors = new ArrayList<>();
+    private int processed;
+    private int imported;
+    private int duplicates;
+    private int failed;
+    private boolean aborted;
+
+    public void processed() {
+        processed++;
+    }
+
+    public void imported(int count) {
+        imported += count;
+    }
+
+    public void duplicate() {
+        duplicates++;
+    }
+
+    public void failed(int row, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportRowErrorDto(row, message));
+        }
+    }
+
+    public void aborted(int row, String message) {
+        failed(row, message);
+        aborted = true;
+    }
+
+    public int imported() {
+        return imported;
+    }
+
+    public ImportReportDto toDto() {
+        return ImportReportDto.builder()
+                .processed(processed)
+                .imported(imported)
+                .duplicates(duplicates)
+                .failed(failed)
+                .errors(List.copyOf(errors))
+                .aborted(aborted)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dallasdresses.orders;
+
+import com.dallasdresses.entities.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * The column values of an order waiting to be inserted, and the stock it takes off the items table.
+ */
+public record NewOrder(
+        Long cartId,
+        Long userId,
+        OrderStatus status,
+        String idempotencyKey,
+        String requestFingerprint,
+        BigDecimal subtotal,
+        String addressLine1,
+        String addressLine2,
+        String city,
+        String state,
+        String country,
+        String postalCode,
+        Timestamp createdAt,
+        List<Line> lines
+) {
+
+    public record Line(Long itemId, int quantity) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.dallasdresses.orders;
+
+import com.dallasdresses.events.StockChangedEvent;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts orders from a single writer thread. While one batch is being written, orders placed in the
+ * meantime queue up and go out together in the next batched insert and commit, so the number of round
+ * trips grows with the number of batches rather than the number of checkouts. A lone order is written
+ * straight away; nothing waits for a batch to fill up.
+ * <p>
+ * The stock of every order line is taken off the items table in the same transaction as the order
+ * rows, so an order is never committed without its decrement or the other way round.
+ */
+@Slf4j
+@Component
+public class OrderBatchWriter {
+
+    private static final String INSERT_ORDER = """
+            INSERT INTO orders (cart_id, user_id, status, idempotency_key, request_fingerprint, subtotal,
+                                address_line1, address_line2, city, state, country, postal_code, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String TAKE_STOCK = "UPDATE items SET stock = stock - ? WHERE id = ? AND stock >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+    private final DistributionSummary batchSizes;
+    private final Thread worker = new Thread(this::run, "order-batch-writer");
+    private volatile boolean running = true;
+
+    @Value("${app.orders.batch.max-size:32}")
+    private int maxBatchSize = 32;
+
+    public OrderBatchWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSizes = DistributionSummary.builder("orders.batch.size")
+                .description("Orders written per insert and commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues the order and returns its generated id once the batch it went out in has committed.
+     */
+    public CompletableFuture<Long> submit(NewOrder order) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Order writer is shut down"));
+        }
+
+        PendingOrder pending = new PendingOrder(order, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.id();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+
+        PendingOrder leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.id().completeExceptionally(new IllegalStateException("Order writer is shut down"));
+        }
+    }
+
+    private void run() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // write() settles every order itself; this only keeps the worker alive
+                log.error("Order writer failed", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingOrder> batch) {
+        batchSizes.record(batch.size());
+
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> {
+                List<Long> inserted = insert(batch);
+                takeStock(batch);
+                return inserted;
+            });
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).id().completeExceptionally(ex);
+                return;
+            }
+
+            // One bad order must not fail the others, so they are retried one at a time
+            log.warn("Order batch of {} failed, writing orders one by one", batch.size(), ex);
+            batch.forEach(order -> write(List.of(order)));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).id().complete(ids.get(i));
+        }
+
+        Set<Long> itemIds = new HashSet<>();
+        batch.forEach(pending -> pending.order().lines().forEach(line -> itemIds.add(line.itemId())));
+        eventPublisher.publishEvent(new StockChangedEvent(itemIds));
+    }
+
+    // Lines are applied in item id order, as the inventory flush does, so the two never deadlock
+    private void takeStock(List<PendingOrder> batch) {
+        List<NewOrder.Line> lines = new ArrayList<>();
+        batch.forEach(pending -> lines.addAll(pending.order().lines()));
+        lines.sort(Comparator.comparing(NewOrder.Line::itemId));
+
+        List<Object[]> args = new ArrayList<>(lines.size());
+        lines.forEach(line -> args.add(new Object[]{line.quantity(), line.itemId(), line.quantity()}));
+        int[] updated = jdbcTemplate.batchUpdate(TAKE_STOCK, args);
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                // Rolls the batch back; the retry one by one pins it on the order that ran short
+                throw new InvalidEntityException("Not enough stock for item " + lines.get(i).itemId());
+            }
+        }
+    }
+
+    private List<Long> insert(List<PendingOrder> batch) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ORDER, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(@NonNull PreparedStatement statement, int i) throws SQLException {
+                        NewOrder order = batch.get(i).order();
+                        statement.setLong(1, order.cartId());
+                        statement.setLong(2, order.userId());
+                        statement.setString(3, order.status().name());
+                        statement.setString(4, order.idempotencyKey());
+                        statement.setString(5, order.requestFingerprint());
+                        statement.setBigDecimal(6, order.subtotal());
+                        statement.setString(7, order.addressLine1());
+                        statement.setString(8, order.addressLine2());
+                        statement.setString(9, order.city());
+                        statement.setString(10, order.state());
+                        statement.setString(11, order.country());
+                        statement.setString(12, order.postalCode());
+                        statement.setTimestamp(13, order.createdAt());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keyHolder);
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+
+        return ids;
+    }
+
+    private record PendingOrder(NewOrder order, CompletableFuture<Long> id) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.dallasdresses.pagination;
+
+import com.dallasdresses.exceptions.InvalidEntityException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page. Clients only ever see the encoded,
+ * URL-safe token, so the layout can change without breaking them. Pages ordered by
+ * something other than creation time or id carry that value in {@code sortValue}.
+ */
+public record KeysetCursor(Timestamp createdAt, Long id, Long sortValue) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public KeysetCursor(Timestamp createdAt, Long id) {
+        this(createdAt, id, null);
+    }
+
+    public static KeysetCursor of(Long id) {
+        return new KeysetCursor(null, id);
+    }
+
+    public static KeysetCursor of(Long sortValue, Long id) {
+        return new KeysetCursor(null, id, sortValue);
+    }
+
+    public String encode() {
+        String payload;
+        if (createdAt != null) {
+            payload = id + ":" + createdAt.toInstant().getEpochSecond() + ":" + createdAt.getNanos();
+        } else if (sortValue != null) {
+            payload = id + ":" + sortValue;
+        } else {
+            payload = String.valueOf(id);
+        }
+
+        return ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":");
+            Long id = Long.valueOf(parts[0]);
+
+            if (parts.length == 1) {
+                return of(id);
+            }
+
+            if (parts.length == 2) {
+                return of(Long.valueOf(parts[1]), id);
+            }
+
+            if (parts.length == 3) {
+                Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[1]), Integer.parseInt(parts[2]));
+                return new KeysetCursor(Timestamp.from(createdAt), id);
+            }
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException ex) {
+            // Fall through to the common error below
+        }
+
+        throw new InvalidEntityException("Invalid page cursor: " + token);
+    }
+}
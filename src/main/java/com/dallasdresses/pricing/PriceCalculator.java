@@ -0,0 +1,51 @@
+package com.dallasdresses.pricing;
+
+import com.dallasdresses.entities.enums.DiscountType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The one place an item's effective price is worked out from its list price and discount.
+ * Discount values are stored as doubles; they are turned into decimals here, before any
+ * arithmetic, so every caller rounds the same way.
+ */
+public final class PriceCalculator {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private PriceCalculator() {
+    }
+
+    public static boolean isDiscounted(DiscountType discountType, Double discountValue) {
+        return discountType != null && discountType != DiscountType.NONE
+                && discountValue != null && discountValue > 0;
+    }
+
+    /**
+     * The list price less any discount, rounded to cents and never below zero.
+     */
+    public static BigDecimal effectivePrice(BigDecimal price, DiscountType discountType, Double discountValue) {
+        if (price == null) {
+            return null;
+        }
+
+        if (!isDiscounted(discountType, discountValue)) {
+            return price.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        BigDecimal value = BigDecimal.valueOf(discountValue);
+        BigDecimal discount = switch (discountType) {
+            case PERCENTAGE -> price.multiply(value).divide(HUNDRED);
+            case FIXED -> value;
+            case NONE -> BigDecimal.ZERO;
+        };
+
+        return price.subtract(discount).max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static long effectivePriceCents(BigDecimal price, DiscountType discountType, Double discountValue) {
+        BigDecimal effective = effectivePrice(price, discountType, discountValue);
+        return effective == null ? 0 : effective.movePointRight(2).longValueExact();
+    }
+}
@@ -2,7 +2,6 @@ package com.dallasdresses.repositories;
 
 import com.dallasdresses.entities.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,8 +12,9 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
 
     Optional<List<Address>> findByUserId(Long userId);
 
-    @Query("SELECT a FROM Address a JOIN FETCH a.country WHERE a.user.id = :userId")
-    List<Address> findByUserIdWithCountry(Long userId);
+    List<Address> findAllByUserId(Long userId);
+
+    Optional<Address> findByIdAndUserId(Long id, Long userId);
 
     Optional<Address> findByUserIdAndAddressLine1AndCityAndStateAndPostalCode(
             Long userId,
@@ -1,7 +1,17 @@
 package com.dallasdresses.repositories;
 
+import com.dallasdresses.dtos.projection.CartLineRow;
 import com.dallasdresses.entities.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+
+    @Query("""
+            SELECT new com.dallasdresses.dtos.projection.CartLineRow(ci.item.id, ci.quantity, ci.priceAtAdd)
+            FROM CartItem ci WHERE ci.cart.id = :cartId ORDER BY ci.id
+            """)
+    List<CartLineRow> findLinesByCartId(Long cartId);
 }
@@ -1,7 +1,19 @@
 package com.dallasdresses.repositories;
 
 import com.dallasdresses.entities.Cart;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface CartRepository extends JpaRepository<Cart,Long> {
+
+    // A cart stays open until an order is placed with it
+    @Query("""
+            SELECT c.id FROM Cart c
+            WHERE c.user.id = :userId AND NOT EXISTS (SELECT o.id FROM Order o WHERE o.cart = c)
+            ORDER BY c.id DESC
+            """)
+    List<Long> findOpenCartIds(Long userId, Limit limit);
 }
@@ -1,23 +1,130 @@
 package com.dallasdresses.repositories;
 
+import com.dallasdresses.dtos.projection.ItemCategoryRow;
+import com.dallasdresses.dtos.projection.ItemFacetRow;
+import com.dallasdresses.dtos.projection.ItemNaturalKey;
+import com.dallasdresses.dtos.projection.ItemPriceRow;
+import com.dallasdresses.dtos.projection.ItemRow;
+import com.dallasdresses.dtos.projection.ItemSortRow;
+import com.dallasdresses.dtos.projection.ItemTextRow;
+import com.dallasdresses.dtos.response.ItemImageDto;
 import com.dallasdresses.entities.Item;
 import com.dallasdresses.entities.enums.DiscountType;
 import com.dallasdresses.entities.enums.DressSize;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.categories")
-    List<Item> findAllWithCategories();
+    // Catalog reads select into DTOs so no managed entities or dirty-checking snapshots are created
+    String ITEM_ROW = """
+            SELECT new com.dallasdresses.dtos.projection.ItemRow(
+                i.id, i.name, i.description, i.color, i.size, i.stock, i.price,
+                i.discountType, i.discountValue, p.id, i.createdAt, i.updatedAt)
+            FROM Item i LEFT JOIN i.parent p
+            """;
 
-    @Query("SELECT i FROM Item i JOIN i.categories c WHERE c.slug = :slug")
-    List<Item> findItemsByCategorySlug(String slug);
+    @Query(ITEM_ROW + "ORDER BY i.id")
+    List<ItemRow> findAllRows();
+
+    // Read through a cursor in fetch-size chunks instead of materializing the whole result
+    @Query(ITEM_ROW + "ORDER BY i.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ItemRow> streamAllRows();
+
+    @Query(ITEM_ROW + "WHERE i.id IN :ids ORDER BY i.id")
+    List<ItemRow> findRowsByIdIn(Collection<Long> ids);
+
+    @Query(ITEM_ROW + "ORDER BY i.createdAt ASC, i.id ASC")
+    List<ItemRow> findFirstPageRows(Limit limit);
+
+    @Query(ITEM_ROW + """
+            WHERE i.createdAt > :createdAt OR (i.createdAt = :createdAt AND i.id > :id)
+            ORDER BY i.createdAt ASC, i.id ASC
+            """)
+    List<ItemRow> findPageRowsAfter(Timestamp createdAt, Long id, Limit limit);
+
+    // Collections are queried separately so categories and images never multiply each other's rows
+    @Query("""
+            SELECT new com.dallasdresses.dtos.projection.ItemCategoryRow(i.id, c.id, c.name, c.slug)
+            FROM Item i JOIN i.categories c
+            WHERE i.id IN :itemIds
+            """)
+    List<ItemCategoryRow> findCategoryRowsByItemIdIn(Collection<Long> itemIds);
+
+    @Query("""
+            SELECT new com.dallasdresses.dtos.response.ItemImageDto(
+                img.id, img.item.id, img.url, img.altText, img.displayOrder, img.isPrimary)
+            FROM ItemImage img
+            WHERE img.item.id IN :itemIds
+            """)
+    List<ItemImageDto> findImageDtosByItemIdIn(Collection<Long> itemIds);
+
+    @Query("""
+            SELECT new com.dallasdresses.dtos.projection.ItemFacetRow(
+                i.id, i.size, i.color, i.price, i.discountType, i.discountValue)
+            FROM Item i
+            ORDER BY i.id
+            """)
+    List<ItemFacetRow> findAllFacetRows();
+
+    @Query("""
+            SELECT new com.dallasdresses.dtos.projection.ItemSortRow(i.id, i.createdAt)
+            FROM Item i
+            """)
+    List<ItemSortRow> findAllSortRows();
+
+    @Query("SELECT new com.dallasdresses.dtos.projection.ItemTextRow(i.id, i.name, i.description) FROM Item i")
+    List<ItemTextRow> findAllTextRows();
+
+    @Query("SELECT new com.dallasdresses.dtos.projection.ItemNaturalKey(i.name, i.color, i.size) FROM Item i")
+    List<ItemNaturalKey> findAllNaturalKeys();
+
+    @Query("""
+            SELECT new com.dallasdresses.dtos.projection.ItemPriceRow(i.id, i.price, i.discountType, i.discountValue)
+            FROM Item i WHERE i.id = :id
+            """)
+    Optional<ItemPriceRow> findPriceRowById(Long id);
+
+    @Query("SELECT i.stock FROM Item i WHERE i.id = :id")
+    Optional<Integer> findStockById(Long id);
+
+    // (id, parent_id) pairs of the item's whole variant family: climb to the root, then walk down.
+    // UNION rather than UNION ALL stops the recursion should the parent links ever form a cycle.
+    @Query(value = """
+            WITH RECURSIVE ancestors(id, parent_id) AS (
+                SELECT id, parent_id FROM items WHERE id = :itemId
+                UNION
+                SELECT i.id, i.parent_id FROM items i JOIN ancestors a ON i.id = a.parent_id
+            ),
+            family(id, parent_id) AS (
+                SELECT id, parent_id FROM ancestors WHERE parent_id IS NULL
+                UNION
+                SELECT i.id, i.parent_id FROM items i JOIN family f ON i.parent_id = f.id
+            )
+            SELECT id, parent_id FROM family
+            """, nativeQuery = true)
+    List<Object[]> findFamilyLinks(Long itemId);
+
+    // Raw (category_id, item_id) pairs straight from the join table, for the category item index
+    @Query(value = "SELECT category_id, item_id FROM item_category", nativeQuery = true)
+    List<Object[]> findCategoryMemberships();
 
     boolean existsByNameAndColorAndSize(String name, String color, DressSize size);
 }
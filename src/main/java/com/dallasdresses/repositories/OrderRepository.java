@@ -4,6 +4,10 @@ import com.dallasdresses.entities.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    Optional<Order> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
 }
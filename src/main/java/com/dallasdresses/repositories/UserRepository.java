@@ -1,11 +1,13 @@
 package com.dallasdresses.repositories;
 
 import com.dallasdresses.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +26,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @EntityGraph(attributePaths = {"addresses", "credentials"})
     @Query("SELECT u FROM User u WHERE u.email = :email")
     Optional<User> findByEmailWithAddresses(String email);
+
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    List<User> findFirstPage(Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<User> findPageAfter(Long afterId, Limit limit);
+
+    // Each collection is fetched on its own, so rows grow with addresses plus credentials rather than their product
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.addresses WHERE u.id IN :ids")
+    List<User> fetchAddresses(Collection<Long> ids);
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.credentials WHERE u.id IN :ids")
+    List<User> fetchCredentials(Collection<Long> ids);
+
+    @Query("SELECT LOWER(u.email) FROM User u")
+    List<String> findAllEmails();
 }
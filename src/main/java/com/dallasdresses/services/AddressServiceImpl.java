@@ -1,5 +1,6 @@
 package com.dallasdresses.services;
 
+import com.dallasdresses.cache.CountryCache;
 import com.dallasdresses.converters.AddressToAddressDtoConverter;
 import com.dallasdresses.dtos.response.AddressDto;
 import com.dallasdresses.entities.Address;
@@ -31,15 +32,18 @@ public class AddressServiceImpl implements AddressService {
     private final UserRepository userRepository;
     private final AddressToAddressDtoConverter addressDtoConverter;
     private final CountryRepository countryRepository;
+    private final CountryCache countryCache;
 
     public AddressServiceImpl(AddressRepository addressRepository,
                               UserRepository userRepository,
                               AddressToAddressDtoConverter addressDtoConverter,
-                              CountryRepository countryRepository) {
+                              CountryRepository countryRepository,
+                              CountryCache countryCache) {
         this.addressRepository = addressRepository;
         this.userRepository = userRepository;
         this.addressDtoConverter = addressDtoConverter;
         this.countryRepository = countryRepository;
+        this.countryCache = countryCache;
     }
 
     public List<AddressDto> getAllAddresses() {
@@ -56,8 +60,8 @@ public class AddressServiceImpl implements AddressService {
         userRepository.findById(userId).orElseThrow(
                 () -> new EntityNotFoundException("No addresses found for the user"));
 
-        // Get addresses with country
-        List<Address> addresses = addressRepository.findByUserIdWithCountry(userId);
+        // Get addresses; country names come from the country cache
+        List<Address> addresses = addressRepository.findAllByUserId(userId);
 
         if (addresses.isEmpty()) {
             return List.of();
@@ -97,8 +101,7 @@ public class AddressServiceImpl implements AddressService {
         }
 
         // Get country
-        Country country = countryRepository.findByNameIgnoreCase(request.getCountry())
-                .orElseThrow(() -> new EntityNotFoundException("country", "name", request.getCountry()));
+        Country country = resolveCountry(request.getCountry());
 
         // Build address
         Address address = Address.builder()
@@ -146,10 +149,9 @@ public class AddressServiceImpl implements AddressService {
         // Get country ONLY if it's being updated
         Country country = null;
         if (request.getCountry() != null &&
-                !request.getCountry().equals(existingAddress.getCountry().getName())) {
-            country = countryRepository.findByNameIgnoreCase(request.getCountry())
-                    .orElseThrow(() -> new EntityNotFoundException(
-                            "country", "name", request.getCountry()));
+                !request.getCountry().equals(countryCache.findNameById(existingAddress.getCountry().getId())
+                        .orElse(null))) {
+            country = resolveCountry(request.getCountry());
         }
 
         // Update address
@@ -176,6 +178,17 @@ public class AddressServiceImpl implements AddressService {
         addressRepository.deleteById(addressId);
     }
 
+    /**
+     * Returns an uninitialized reference, so neither resolving the name nor attaching the
+     * country to an address reads the countries table.
+     */
+    private Country resolveCountry(String name) {
+        Long countryId = countryCache.findIdByName(name)
+                .orElseThrow(() -> new EntityNotFoundException("country", "name", name));
+
+        return countryRepository.getReferenceById(countryId);
+    }
+
     private void updateAddressFields(
             Address address,
             AddressUpdateRequest request,
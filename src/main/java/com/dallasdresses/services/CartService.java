@@ -0,0 +1,16 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.projection.CartSnapshot;
+import com.dallasdresses.dtos.request.CartItemRequest;
+import com.dallasdresses.dtos.response.CartDto;
+
+public interface CartService {
+
+    CartDto getCart(Long userId);
+    CartDto addItem(Long userId, CartItemRequest request);
+    CartDto updateItemQuantity(Long userId, Long itemId, int quantity);
+    CartDto removeItem(Long userId, Long itemId);
+    CartSnapshot checkout(Long userId);
+    void completeCheckout(Long userId, Long cartId, boolean placed);
+    void flush();
+}
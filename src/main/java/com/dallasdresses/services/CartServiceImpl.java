@@ -0,0 +1,517 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.projection.CartLineRow;
+import com.dallasdresses.dtos.projection.CartSnapshot;
+import com.dallasdresses.dtos.projection.ItemPriceRow;
+import com.dallasdresses.dtos.request.CartItemRequest;
+import com.dallasdresses.dtos.response.CartDto;
+import com.dallasdresses.dtos.response.CartItemDto;
+import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.repositories.CartItemRepository;
+import com.dallasdresses.repositories.CartRepository;
+import com.dallasdresses.repositories.ItemRepository;
+import com.dallasdresses.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves carts from memory and writes them behind. Each shopper's open cart is loaded once into a
+ * bounded, access-ordered map; mutations only change the in-memory lines and mark them dirty, and
+ * a scheduled flush writes the latest state of every dirty line in one batched transaction. Many
+ * clicks on the same line between two flushes therefore cost a single row write.
+ * <p>
+ * A cart pushed out of the map keeps its unflushed lines until the next flush has written them,
+ * and is handed back instead of being reloaded if its shopper returns first. When more than
+ * {@code app.cart.max-evicted} carts are waiting, the request that pushes out another one flushes.
+ * <p>
+ * Checkout writes the cart straight away and closes it, so the order can reference rows that match
+ * what the shopper saw. Until the order is placed the closed cart is skipped when carts are loaded.
+ */
+@Slf4j
+@Service
+public class CartServiceImpl implements CartService {
+
+    private static final int MAX_LINE_QUANTITY = 10;
+
+    private static final String INSERT_CART = "INSERT INTO cart (user_id) VALUES (?)";
+    private static final String UPDATE_LINE =
+            "UPDATE cart_item SET quantity = ?, price_at_add = ?, updated_at = ? WHERE cart_id = ? AND item_id = ?";
+    private static final String INSERT_LINE = """
+            INSERT INTO cart_item (cart_id, item_id, quantity, price_at_add, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String DELETE_LINE = "DELETE FROM cart_item WHERE cart_id = ? AND item_id = ?";
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Guarded by itself, as are evictedCarts
+    private final Map<Long, ActiveCart> activeCarts;
+    private final Map<Long, ActiveCart> evictedCarts = new HashMap<>();
+
+    // Cart ids being checked out, by user id
+    private final Map<Long, Long> closingCarts = new ConcurrentHashMap<>();
+
+    @Value("${app.cart.max-active:10000}")
+    private int maxActiveCarts = 10_000;
+
+    @Value("${app.cart.max-evicted:1000}")
+    private int maxEvictedCarts = 1_000;
+
+    public CartServiceImpl(CartRepository cartRepository, CartItemRepository cartItemRepository,
+                           ItemRepository itemRepository, UserRepository userRepository,
+                           JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.activeCarts = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ActiveCart> eldest) {
+                if (size() <= maxActiveCarts) {
+                    return false;
+                }
+
+                evictedCarts.put(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public CartDto getCart(Long userId) {
+        ActiveCart cart = activeCart(userId);
+        synchronized (cart) {
+            return toDto(cart);
+        }
+    }
+
+    @Override
+    public CartDto addItem(Long userId, CartItemRequest request) {
+        ActiveCart cart = activeCart(userId);
+        Long itemId = request.getItemId();
+
+        synchronized (cart) {
+            checkOpen(cart);
+            Line existing = cart.lines.get(itemId);
+            if (existing != null) {
+                // The price captured when the item first went into the cart is kept
+                setLine(cart, itemId, new Line(existing.quantity() + request.getQuantity(), existing.priceAtAdd()));
+                return toDto(cart);
+            }
+        }
+
+        // Looked up outside the cart lock; only the columns needed to price the item are read
+        BigDecimal price = itemRepository.findPriceRowById(itemId)
+                .map(ItemPriceRow::unitPrice)
+                .orElseThrow(() -> new EntityNotFoundException("item", itemId));
+
+        synchronized (cart) {
+            checkOpen(cart);
+            Line existing = cart.lines.get(itemId);
+            Line line = existing == null
+                    ? new Line(request.getQuantity(), price)
+                    : new Line(existing.quantity() + request.getQuantity(), existing.priceAtAdd());
+            setLine(cart, itemId, line);
+            return toDto(cart);
+        }
+    }
+
+    @Override
+    public CartDto updateItemQuantity(Long userId, Long itemId, int quantity) {
+        if (quantity < 0) {
+            throw new InvalidEntityException("Quantity cannot be negative");
+        }
+
+        if (quantity == 0) {
+            return removeItem(userId, itemId);
+        }
+
+        ActiveCart cart = activeCart(userId);
+        synchronized (cart) {
+            checkOpen(cart);
+            Line existing = cart.lines.get(itemId);
+            if (existing == null) {
+                throw new EntityNotFoundException("cart item", itemId);
+            }
+
+            setLine(cart, itemId, new Line(quantity, existing.priceAtAdd()));
+            return toDto(cart);
+        }
+    }
+
+    @Override
+    public CartDto removeItem(Long userId, Long itemId) {
+        ActiveCart cart = activeCart(userId);
+        synchronized (cart) {
+            checkOpen(cart);
+            if (cart.lines.remove(itemId) == null) {
+                throw new EntityNotFoundException("cart item", itemId);
+            }
+
+            cart.dirtyItemIds.add(itemId);
+            return toDto(cart);
+        }
+    }
+
+    /**
+     * Writes every dirty line. Synchronized so that only one flush assigns cart ids at a time.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.cart.flush-interval:2s}")
+    public synchronized void flush() {
+        List<ActiveCart> carts;
+        Map<Long, ActiveCart> evicted;
+        synchronized (activeCarts) {
+            carts = new ArrayList<>(activeCarts.values());
+            carts.addAll(evictedCarts.values());
+            evicted = Map.copyOf(evictedCarts);
+        }
+
+        List<PendingCart> pending = new ArrayList<>();
+        for (ActiveCart cart : carts) {
+            synchronized (cart) {
+                PendingCart changes = takeChanges(cart);
+                if (changes != null) {
+                    pending.add(changes);
+                }
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(pending));
+            } catch (DataAccessException ex) {
+                log.warn("Cart flush failed, retrying {} carts next time", pending.size(), ex);
+                pending.forEach(PendingCart::restore);
+                return;
+            }
+
+            // New cart ids are handed out only once the rows have committed
+            pending.forEach(PendingCart::publishCartId);
+        }
+
+        // Only the instance that was written goes, and only if nothing changed in it since: a cart
+        // revived, edited and pushed out again after its changes were taken still has lines to write
+        synchronized (activeCarts) {
+            evicted.forEach((userId, cart) -> {
+                synchronized (cart) {
+                    if (cart.dirtyItemIds.isEmpty()) {
+                        evictedCarts.remove(userId, cart);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the shopper's cart and closes it for the order being placed. Synchronized with
+     * {@link #flush()} so that a flush still writing this cart has committed before the snapshot is taken.
+     */
+    @Override
+    public synchronized CartSnapshot checkout(Long userId) {
+        ActiveCart cart = activeCart(userId);
+
+        PendingCart pending;
+        synchronized (cart) {
+            checkOpen(cart);
+            if (cart.lines.isEmpty()) {
+                throw new InvalidEntityException("Cart is empty");
+            }
+
+            pending = takeChanges(cart);
+            cart.closed = true;
+        }
+
+        if (pending != null) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(List.of(pending)));
+            } catch (DataAccessException ex) {
+                pending.restore();
+                synchronized (cart) {
+                    cart.closed = false;
+                }
+                throw ex;
+            }
+
+            pending.publishCartId();
+        }
+
+        CartSnapshot snapshot;
+        synchronized (cart) {
+            snapshot = new CartSnapshot(cart.cartId, toDto(cart));
+        }
+
+        closingCarts.put(userId, snapshot.cartId());
+        synchronized (activeCarts) {
+            activeCarts.remove(userId, cart);
+            evictedCarts.remove(userId, cart);
+        }
+
+        return snapshot;
+    }
+
+    @Override
+    public void completeCheckout(Long userId, Long cartId, boolean placed) {
+        closingCarts.remove(userId, cartId);
+        if (placed) {
+            return;
+        }
+
+        // The cart is open again, so an empty cart started meanwhile gives way to it on the next load
+        synchronized (activeCarts) {
+            ActiveCart current = activeCarts.get(userId);
+            if (current == null) {
+                return;
+            }
+
+            synchronized (current) {
+                if (current.cartId == null && current.lines.isEmpty() && current.dirtyItemIds.isEmpty()) {
+                    activeCarts.remove(userId);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private ActiveCart activeCart(Long userId) {
+        ActiveCart cart = cachedCart(userId);
+        if (cart == null) {
+            ActiveCart loaded = load(userId);
+            synchronized (activeCarts) {
+                cart = cachedCart(userId);
+                if (cart == null) {
+                    cart = loaded;
+                    activeCarts.put(userId, cart);
+                }
+            }
+        }
+
+        flushIfBacklogged();
+        return cart;
+    }
+
+    // Carts pushed out of the map stay in memory until a flush; when shoppers push them out faster
+    // than the schedule writes them, the caller that tips the limit flushes instead of waiting
+    private void flushIfBacklogged() {
+        if (evictedCount() <= maxEvictedCarts) {
+            return;
+        }
+
+        synchronized (this) {
+            if (evictedCount() > maxEvictedCarts) {
+                flush();
+            }
+        }
+    }
+
+    private int evictedCount() {
+        synchronized (activeCarts) {
+            return evictedCarts.size();
+        }
+    }
+
+    private ActiveCart cachedCart(Long userId) {
+        synchronized (activeCarts) {
+            ActiveCart cart = activeCarts.get(userId);
+            if (cart == null) {
+                cart = evictedCarts.remove(userId);
+                if (cart != null) {
+                    activeCarts.put(userId, cart);
+                }
+            }
+
+            return cart;
+        }
+    }
+
+    private ActiveCart load(Long userId) {
+        ActiveCart cart = new ActiveCart(userId);
+
+        // A cart being checked out is still open in the database until its order commits
+        List<Long> cartIds = cartRepository.findOpenCartIds(userId, Limit.of(1));
+        if (!cartIds.isEmpty() && cartIds.get(0).equals(closingCarts.get(userId))) {
+            return cart;
+        }
+
+        if (cartIds.isEmpty()) {
+            if (!userRepository.existsById(userId)) {
+                throw new EntityNotFoundException("user", userId);
+            }
+            return cart;
+        }
+
+        cart.cartId = cartIds.get(0);
+        for (CartLineRow row : cartItemRepository.findLinesByCartId(cart.cartId)) {
+            cart.lines.put(row.itemId(), new Line(row.quantity(), row.priceAtAdd()));
+        }
+
+        return cart;
+    }
+
+    private static void checkOpen(ActiveCart cart) {
+        if (cart.closed) {
+            throw new InvalidEntityException("Cart is being checked out");
+        }
+    }
+
+    private static PendingCart takeChanges(ActiveCart cart) {
+        if (cart.dirtyItemIds.isEmpty()) {
+            return null;
+        }
+
+        Map<Long, Line> changes = new LinkedHashMap<>();
+        cart.dirtyItemIds.forEach(itemId -> changes.put(itemId, cart.lines.get(itemId)));
+        cart.dirtyItemIds.clear();
+        return new PendingCart(cart, cart.cartId, changes);
+    }
+
+    private static void setLine(ActiveCart cart, Long itemId, Line line) {
+        if (line.quantity() > MAX_LINE_QUANTITY) {
+            throw new InvalidEntityException("Quantity cannot exceed " + MAX_LINE_QUANTITY);
+        }
+
+        cart.lines.put(itemId, line);
+        cart.dirtyItemIds.add(itemId);
+    }
+
+    private void write(List<PendingCart> pending) {
+        Timestamp now = Timestamp.from(Instant.now());
+
+        // Carts get a row only once something is written to them
+        for (PendingCart cart : pending) {
+            if (cart.cartId == null) {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(INSERT_CART, new String[]{"id"});
+                    statement.setLong(1, cart.cart.userId);
+                    return statement;
+                }, keyHolder);
+                cart.cartId = Objects.requireNonNull(keyHolder.getKey()).longValue();
+            }
+        }
+
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (PendingCart cart : pending) {
+            cart.changes.forEach((itemId, line) -> {
+                if (line == null) {
+                    deletes.add(new Object[]{cart.cartId, itemId});
+                } else {
+                    updates.add(new Object[]{line.quantity(), line.priceAtAdd(), now, cart.cartId, itemId});
+                }
+            });
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_LINE, deletes);
+
+        // Lines not there yet come back with an update count of zero and are inserted instead
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_LINE, updates);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] update = updates.get(i);
+                inserts.add(new Object[]{update[3], update[4], update[0], update[1], now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE, inserts);
+    }
+
+    private static CartDto toDto(ActiveCart cart) {
+        List<CartItemDto> items = new ArrayList<>(cart.lines.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int totalQuantity = 0;
+
+        for (Map.Entry<Long, Line> entry : cart.lines.entrySet()) {
+            Line line = entry.getValue();
+            BigDecimal lineTotal = line.priceAtAdd().multiply(BigDecimal.valueOf(line.quantity()));
+            items.add(CartItemDto.builder()
+                    .itemId(entry.getKey())
+                    .quantity(line.quantity())
+                    .priceAtAdd(line.priceAtAdd())
+                    .lineTotal(lineTotal)
+                    .build());
+            subtotal = subtotal.add(lineTotal);
+            totalQuantity += line.quantity();
+        }
+
+        return CartDto.builder()
+                .userId(cart.userId)
+                .items(items)
+                .totalQuantity(totalQuantity)
+                .subtotal(subtotal)
+                .build();
+    }
+
+    private record Line(int quantity, BigDecimal priceAtAdd) {
+    }
+
+    /**
+     * A shopper's open cart; every field except userId is guarded by the instance.
+     */
+    private static final class ActiveCart {
+
+        private final Long userId;
+        private final Map<Long, Line> lines = new LinkedHashMap<>();
+        private final Set<Long> dirtyItemIds = new HashSet<>();
+        private Long cartId;
+        private boolean closed;
+
+        private ActiveCart(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static final class PendingCart {
+
+        private final ActiveCart cart;
+        private final Map<Long, Line> changes;
+        private Long cartId;
+
+        private PendingCart(ActiveCart cart, Long cartId, Map<Long, Line> changes) {
+            this.cart = cart;
+            this.cartId = cartId;
+            this.changes = changes;
+        }
+
+        private void publishCartId() {
+            synchronized (cart) {
+                cart.cartId = cartId;
+            }
+        }
+
+        // Newer changes to the same lines are already marked, so marking again is enough
+        private void restore() {
+            synchronized (cart) {
+                cart.dirtyItemIds.addAll(changes.keySet());
+            }
+        }
+    }
+}
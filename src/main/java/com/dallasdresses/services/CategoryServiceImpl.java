@@ -1,8 +1,10 @@
 package com.dallasdresses.services;
 
+import com.dallasdresses.cache.CategoryCache;
 import com.dallasdresses.converters.CategoryToCategoryDtoConverter;
 import com.dallasdresses.dtos.response.CategoryDto;
 import com.dallasdresses.entities.Category;
+import com.dallasdresses.events.CategoryChangedEvent;
 import com.dallasdresses.exceptions.DuplicateEntityException;
 import com.dallasdresses.exceptions.EntityNotFoundException;
 import com.dallasdresses.exceptions.InvalidEntityException;
@@ -11,54 +13,59 @@ import com.dallasdresses.dtos.request.CategoryUpdateRequest;
 import com.dallasdresses.repositories.CategoryRepository;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 public class CategoryServiceImpl implements CategoryService {
 
+    // Literal routes under /items; a category with one of these slugs could not be reached at /items/{slug}
+    private static final Set<String> RESERVED_SLUGS = Set.of("export", "filter", "search");
+
     private final CategoryRepository categoryRepository;
     private final CategoryToCategoryDtoConverter categoryDtoConverter;
+    private final CategoryCache categoryCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CategoryServiceImpl(CategoryRepository categoryRepository,
-                               CategoryToCategoryDtoConverter categoryDtoConverter) {
+                               CategoryToCategoryDtoConverter categoryDtoConverter,
+                               CategoryCache categoryCache,
+                               ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
         this.categoryDtoConverter = categoryDtoConverter;
+        this.categoryCache = categoryCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public List<CategoryDto> getAllCategories() {
-        return categoryRepository.findAll().stream()
-                .map(categoryDtoConverter::convert)
-                .collect(Collectors.toList());
+        return categoryCache.findAll();
     }
 
     @Override
     public CategoryDto getCategoryById(@NonNull Long id) {
 
-        return categoryRepository.findById(id)
-                .map(categoryDtoConverter::convert)
+        return categoryCache.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("category", id));
     }
 
     @Override
     public CategoryDto getCategoryByName(String name) {
 
-        return categoryRepository.findByName(name)
-                .map(categoryDtoConverter::convert)
+        return categoryCache.findByName(name)
                 .orElseThrow(() -> new EntityNotFoundException("category", "name", name));
     }
 
     @Override
     public CategoryDto getCategoryBySlug(String slug) {
-        return categoryRepository.findBySlug(slug)
-                .map(categoryDtoConverter::convert)
+        return categoryCache.findBySlug(slug)
                 .orElseThrow(() -> new EntityNotFoundException("category", "slug", slug));
     }
 
@@ -70,6 +77,7 @@ public class CategoryServiceImpl implements CategoryService {
         if (slug == null || slug.isEmpty()) {
             slug = generateSlug(request.getName());
         }
+        checkSlugNotReserved(slug);
 
         if (categoryRepository.existsByNameIgnoreCase(request.getName())) {
             throw new DuplicateEntityException("category", "name", request.getName());
@@ -82,6 +90,7 @@ public class CategoryServiceImpl implements CategoryService {
                     .build();
 
             Category savedCategory = categoryRepository.save(category);
+            eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
 
             return categoryDtoConverter.convert(savedCategory);
         } catch (Exception ex) {
@@ -107,6 +116,7 @@ public class CategoryServiceImpl implements CategoryService {
         if (slug == null || slug.isEmpty()) {
             slug = generateSlug(request.getName());
         }
+        checkSlugNotReserved(slug);
 
         // Check if the updated category name already exists in DB
         if (categoryRepository.existsByNameIgnoreCase(request.getName())) {
@@ -117,9 +127,10 @@ public class CategoryServiceImpl implements CategoryService {
             existingCategory.setName(request.getName());
             existingCategory.setSlug(slug);
 
-            return categoryDtoConverter.convert(
-                    categoryRepository.save(existingCategory)
-            );
+            Category savedCategory = categoryRepository.save(existingCategory);
+            eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
+
+            return categoryDtoConverter.convert(savedCategory);
         } catch(Exception ex) {
             throw new InvalidEntityException("Error updating category");
         }
@@ -132,6 +143,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new EntityNotFoundException("category", id));
 
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     @Override
@@ -142,6 +154,14 @@ public class CategoryServiceImpl implements CategoryService {
         if (deleteCount == 0) {
             throw new EntityNotFoundException("category", "name", name);
         }
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(null));
+    }
+
+    private void checkSlugNotReserved(String slug) {
+        if (RESERVED_SLUGS.contains(slug)) {
+            throw new InvalidEntityException("Category slug '" + slug + "' is reserved");
+        }
     }
 
     private String generateSlug(String name) {
@@ -0,0 +1,11 @@
+package com.dallasdresses.services;
+
+public interface InventoryService {
+
+    boolean reserve(Long itemId, int quantity);
+    void release(Long itemId, int quantity);
+    void confirm(Long itemId, int quantity);
+    int getAvailableStock(Long itemId);
+    void setStock(Long itemId, int stock);
+    void flush();
+}
@@ -0,0 +1,289 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.StockChangedEvent;
+import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.repositories.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the sellable stock of each item in an atomic counter. Reservations compare-and-set the
+ * counter, so it can never go below zero no matter how many checkouts race for the last units.
+ * A reservation only holds units in memory: the sale takes them off the items table in the
+ * transaction that records it, and {@link #confirm(Long, int)} tells the counter once that has
+ * committed, so a crash never loses the decrement of a committed order.
+ * <p>
+ * Counters are loaded from the items table on first use. Admin changes are kept as a net delta
+ * and written back periodically with a conditional UPDATE in one transaction. A row that refuses
+ * its delta because it was lowered outside the inventory is reconciled in place, and the counter
+ * is corrected rather than replaced, so checkouts holding it keep a live counter.
+ * <p>
+ * Once an item has a counter, the counter is the source of truth for its stock: admin changes go
+ * through {@link #setStock(Long, int)}, and the stock read from the table may lag by one flush
+ * interval. Each flush that writes anything publishes a {@link StockChangedEvent}, so cached
+ * catalog responses catch up with the table. The counters assume a single application instance.
+ */
+@Slf4j
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final String APPLY_DELTA =
+            "UPDATE items SET stock = stock + ? WHERE id = ? AND stock + ? >= 0";
+    private static final String LOCK_STOCK = "SELECT stock FROM items WHERE id = ? FOR UPDATE";
+    private static final String SET_STOCK = "UPDATE items SET stock = ? WHERE id = ?";
+
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    private final Counter reserved;
+    private final Counter rejected;
+    private final Counter conflicts;
+
+    public InventoryServiceImpl(ItemRepository itemRepository, JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.reserved = Counter.builder("inventory.reservations")
+                .description("Stock reservation attempts")
+                .tag("result", "reserved")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("inventory.reservations")
+                .description("Stock reservation attempts")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("inventory.flush.conflicts")
+                .description("Stock deltas the items table refused")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean reserve(Long itemId, int quantity) {
+        requirePositive(quantity);
+
+        StockCounter counter = counter(itemId);
+        while (true) {
+            int available = counter.available.get();
+            if (available < quantity) {
+                rejected.increment();
+                return false;
+            }
+            if (counter.available.compareAndSet(available, available - quantity)) {
+                reserved.increment();
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void release(Long itemId, int quantity) {
+        requirePositive(quantity);
+
+        counter(itemId).available.addAndGet(quantity);
+    }
+
+    @Override
+    public synchronized void confirm(Long itemId, int quantity) {
+        requirePositive(quantity);
+
+        // The row already lost the units; the counter only has to expect that at the next flush
+        StockCounter counter = counters.get(itemId);
+        if (counter != null) {
+            counter.flushedStock -= quantity;
+        }
+    }
+
+    @Override
+    public int getAvailableStock(Long itemId) {
+        // A reconciled counter can dip below zero until releases or a restock catch up
+        return Math.max(0, counter(itemId).available.get());
+    }
+
+    @Override
+    public void setStock(Long itemId, int stock) {
+        if (stock < 0) {
+            throw new InvalidEntityException("Stock cannot be negative");
+        }
+
+        // Applied as a delta, so reservations racing with the change are neither lost nor doubled
+        StockCounter counter = counter(itemId);
+        int previous = counter.available.getAndSet(stock);
+        counter.unflushed.addAndGet(stock - previous);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.inventory.flush-interval:1s}")
+    public synchronized void flush() {
+        List<Long> itemIds = new ArrayList<>();
+        List<Object[]> deltas = new ArrayList<>();
+        counters.forEach((itemId, counter) -> {
+            int delta = counter.unflushed.getAndSet(0);
+            if (delta != 0) {
+                itemIds.add(itemId);
+                deltas.add(new Object[]{delta, itemId, delta});
+            }
+        });
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Rows are locked in id order, as the order writer does, so the two never deadlock
+        sortByItemId(itemIds, deltas);
+
+        // All deltas commit together, so a failure leaves none of them applied and all can be retried
+        Map<Long, Integer> reconciled;
+        try {
+            reconciled = transactionTemplate.execute(status -> write(itemIds, deltas));
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Stock flush failed, retrying {} items next time", deltas.size(), ex);
+            for (int i = 0; i < itemIds.size(); i++) {
+                StockCounter counter = counters.get(itemIds.get(i));
+                if (counter != null) {
+                    counter.unflushed.addAndGet((Integer) deltas.get(i)[0]);
+                }
+            }
+            return;
+        }
+
+        Set<Long> written = new HashSet<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            Long itemId = itemIds.get(i);
+            int delta = (Integer) deltas.get(i)[0];
+            StockCounter counter = counters.get(itemId);
+
+            if (!reconciled.containsKey(itemId)) {
+                if (counter != null) {
+                    counter.flushedStock += delta;
+                }
+                written.add(itemId);
+            } else if (reconciled.get(itemId) == null) {
+                counters.remove(itemId);
+            } else if (counter != null) {
+                // Shift the counter by however far the row was from what it expected; reservations
+                // and deltas recorded since the snapshot stay on top of the corrected stock
+                int stock = reconciled.get(itemId);
+                counter.available.addAndGet(stock - (counter.flushedStock + delta));
+                counter.flushedStock = stock;
+                written.add(itemId);
+            }
+        }
+
+        if (!written.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(written));
+        }
+    }
+
+    /**
+     * Applies the deltas and returns the items whose row refused its delta, with the stock the row
+     * was reconciled to, or {@code null} when the row no longer exists.
+     */
+    private Map<Long, Integer> write(List<Long> itemIds, List<Object[]> deltas) {
+        int[] updated = jdbcTemplate.batchUpdate(APPLY_DELTA, deltas);
+
+        Map<Long, Integer> reconciled = new HashMap<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                continue;
+            }
+
+            // The row was lowered behind the counter's back, so the units the counter already sold are
+            // taken from what is left, stopping at zero
+            Long itemId = itemIds.get(i);
+            int delta = (Integer) deltas.get(i)[0];
+            conflicts.increment();
+            List<Integer> current = jdbcTemplate.queryForList(LOCK_STOCK, Integer.class, itemId);
+            if (current.isEmpty()) {
+                log.warn("Stock delta {} for item {} was not applied, the item is gone", delta, itemId);
+                reconciled.put(itemId, null);
+                continue;
+            }
+
+            int stock = Math.max(0, current.get(0) + delta);
+            log.warn("Stock delta {} for item {} did not fit the stored stock of {}, reconciled to {}",
+                    delta, itemId, current.get(0), stock);
+            jdbcTemplate.update(SET_STOCK, stock, itemId);
+            reconciled.put(itemId, stock);
+        }
+
+        return reconciled;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.type() == ItemChangedEvent.ChangeType.DELETED) {
+            counters.remove(event.itemId());
+        }
+    }
+
+    private StockCounter counter(Long itemId) {
+        StockCounter counter = counters.get(itemId);
+        if (counter != null) {
+            return counter;
+        }
+
+        // Loaded outside the map so a slow query does not block other items; the first load wins
+        int stock = itemRepository.findStockById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("item", itemId));
+        StockCounter loaded = new StockCounter(stock);
+        counter = counters.putIfAbsent(itemId, loaded);
+
+        return counter == null ? loaded : counter;
+    }
+
+    private static void sortByItemId(List<Long> itemIds, List<Object[]> deltas) {
+        deltas.sort(Comparator.comparing(delta -> (Long) delta[1]));
+        itemIds.clear();
+        deltas.forEach(delta -> itemIds.add((Long) delta[1]));
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity < 1) {
+            throw new InvalidEntityException("quantity must be greater than zero");
+        }
+    }
+
+    private static final class StockCounter {
+
+        private final AtomicInteger available;
+        private final AtomicInteger unflushed = new AtomicInteger();
+        // What the counter expects the row to hold; guarded by the service's monitor
+        private int flushedStock;
+
+        private StockCounter(int stock) {
+            this.available = new AtomicInteger(stock);
+            this.flushedStock = stock;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.projection.ItemDetail;
+
+public interface ItemDetailService {
+
+    ItemDetail getItemDetail(Long itemId);
+}
@@ -0,0 +1,207 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.converters.ItemRowToItemDtoConverter;
+import com.dallasdresses.dtos.projection.ItemDetail;
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.dtos.response.ItemImageDto;
+import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.repositories.ItemRepository;
+import com.dallasdresses.sql.SqlRequestStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles a product page's item from four independent reads. The images, the categories and the
+ * variant family are read at the same time on a small bounded pool, each with its own timeout,
+ * while the item itself is read on the caller's thread. The item is required; a branch that times
+ * out, fails or finds the pool full is left out and named in {@link ItemDetail#missing()}, so one
+ * slow read costs the page a part rather than the whole response.
+ * <p>
+ * A branch that is given up on is cancelled: a queued read never starts and a running one is
+ * interrupted. Each read also runs in a read-only transaction whose timeout becomes the JDBC query
+ * timeout, so a read stuck in the database hands its connection back. The pool is capped at half
+ * the connection pool, leaving the rest to request threads.
+ */
+@Slf4j
+@Service
+public class ItemDetailServiceImpl implements ItemDetailService {
+
+    static final String IMAGES = "images";
+    static final String CATEGORIES = "categories";
+    static final String FAMILY = "family";
+
+    private final ItemRepository itemRepository;
+    private final ItemRowToItemDtoConverter itemRowDtoConverter;
+    private final ItemImageService itemImageService;
+    private final ItemService itemService;
+    private final TransactionTemplate readTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Duration branchTimeout;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> branchTimers = new HashMap<>();
+
+    public ItemDetailServiceImpl(ItemRepository itemRepository, ItemRowToItemDtoConverter itemRowDtoConverter,
+                                 ItemImageService itemImageService, ItemService itemService,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${app.catalog.detail.threads:4}") int threads,
+                                 @Value("${app.catalog.detail.queue-capacity:64}") int queueCapacity,
+                                 @Value("${app.catalog.detail.branch-timeout:300ms}") Duration branchTimeout,
+                                 @Value("${app.catalog.detail.query-timeout:1s}") Duration queryTimeout,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.itemRepository = itemRepository;
+        this.itemRowDtoConverter = itemRowDtoConverter;
+        this.itemImageService = itemImageService;
+        this.itemService = itemService;
+        this.meterRegistry = meterRegistry;
+        this.branchTimeout = branchTimeout;
+
+        // Transaction timeouts are whole seconds, so the query timeout cannot go below one
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.readTemplate.setTimeout((int) Math.max(1, queryTimeout.toSeconds()));
+
+        int maxThreads = Math.max(1, connectionPoolSize / 2);
+        if (threads > maxThreads) {
+            log.warn("Capping item detail threads at {}, half of the {} pooled connections", maxThreads,
+                    connectionPoolSize);
+            threads = maxThreads;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "item-detail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        for (String branch : List.of(IMAGES, CATEGORIES, FAMILY)) {
+            branchTimers.put(branch, Timer.builder("catalog.item.detail.branch")
+                    .description("Time spent reading one part of a product page")
+                    .tag("branch", branch)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public ItemDetail getItemDetail(Long itemId) {
+        CompletableFuture<List<ItemImageDto>> images = branch(IMAGES, () -> itemImageService.getImagesByItemId(itemId));
+        CompletableFuture<Set<CategoryDto>> categories = branch(CATEGORIES, () -> loadCategories(itemId));
+        CompletableFuture<ItemDto> family = branch(FAMILY, () -> itemService.getItemFamily(itemId));
+
+        ItemDto item = itemRepository.findRowsByIdIn(List.of(itemId)).stream()
+                .findFirst()
+                .map(itemRowDtoConverter::convert)
+                .orElseThrow(() -> new EntityNotFoundException("item", itemId));
+
+        List<String> missing = new ArrayList<>();
+        item.setItemImages(new HashSet<>(await(IMAGES, images, List.of(), missing)));
+        item.setCategories(new HashSet<>(await(CATEGORIES, categories, Set.of(), missing)));
+
+        ItemDto root = await(FAMILY, family, null, missing);
+        item.setChildren(root == null ? List.of() : Objects.requireNonNullElse(childrenOf(root, itemId), List.of()));
+
+        return new ItemDetail(item, root == null ? null : root.getId(), List.copyOf(missing));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Set<CategoryDto> loadCategories(Long itemId) {
+        return itemRepository.findCategoryRowsByItemIdIn(List.of(itemId)).stream()
+                .map(row -> CategoryDto.builder()
+                        .id(row.categoryId())
+                        .name(row.name())
+                        .slug(row.slug())
+                        .build())
+                .collect(Collectors.toSet());
+    }
+
+    // The timeout counts from submission, so the slowest branch bounds the whole wait
+    private <T> CompletableFuture<T> branch(String name, Supplier<T> read) {
+        Timer timer = branchTimers.get(name);
+        // The read's statements count against the request that asked for the page
+        Supplier<T> tracked = SqlRequestStats.propagate(() -> readTemplate.execute(status -> read.get()));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(timer.record(tracked));
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        return result.orTimeout(branchTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, ex) -> {
+                    if (ex != null) {
+                        task.cancel(true);
+                    }
+                });
+    }
+
+    private <T> T await(String name, CompletableFuture<T> future, T fallback, List<String> missing) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            String reason = cause instanceof TimeoutException ? "timeout"
+                    : cause instanceof RejectedExecutionException ? "rejected"
+                    : "error";
+            Counter.builder("catalog.item.detail.branch.failures")
+                    .description("Product page parts left out of the response")
+                    .tags("branch", name, "reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+            if (reason.equals("error")) {
+                log.warn("Leaving {} out of the item detail", name, cause);
+            } else {
+                log.warn("Leaving {} out of the item detail ({})", name, reason);
+            }
+
+            missing.add(name);
+            return fallback;
+        }
+    }
+
+    // The requested item's own variants, found in its family tree; null if it is not in this subtree
+    private static List<ItemDto> childrenOf(ItemDto node, Long itemId) {
+        if (itemId.equals(node.getId())) {
+            return node.getChildren() == null ? List.of() : node.getChildren();
+        }
+
+        if (node.getChildren() != null) {
+            for (ItemDto child : node.getChildren()) {
+                List<ItemDto> found = childrenOf(child, itemId);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.response.ImportReportDto;
+import com.dallasdresses.imports.ImportFormat;
+
+import java.io.InputStream;
+
+public interface ItemImportService {
+
+    ImportReportDto importItems(InputStream inputStream, ImportFormat format);
+}
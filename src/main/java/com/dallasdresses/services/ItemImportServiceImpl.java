@@ -0,0 +1,261 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.cache.CategoryCache;
+import com.dallasdresses.dtos.projection.ItemNaturalKey;
+import com.dallasdresses.dtos.request.ItemImportRow;
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.dtos.response.ImportReportDto;
+import com.dallasdresses.events.ItemsImportedEvent;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.imports.ImportFormat;
+import com.dallasdresses.imports.ImportRecordReader;
+import com.dallasdresses.imports.ImportReport;
+import com.dallasdresses.repositories.ItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports items from a CSV or NDJSON stream. Records are read and validated one at a time,
+ * checked against the categories in {@link CategoryCache} and against the existing and already
+ * imported items in memory, then written in chunks with JDBC batch inserts, one transaction per
+ * chunk. A bad record is reported and skipped without affecting the rest of the file.
+ */
+@Slf4j
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO items (name, description, color, size, stock, price, discount_type, discount_value,
+                               parent_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_IMAGE =
+            "INSERT INTO item_image (item_id, url, alt_text, display_order, is_primary) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ITEM_CATEGORY =
+            "INSERT INTO item_category (item_id, category_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemRepository itemRepository;
+    private final CategoryCache categoryCache;
+    private final ImportRecordReader recordReader;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ItemImportServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 ItemRepository itemRepository, CategoryCache categoryCache,
+                                 ImportRecordReader recordReader, Validator validator,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.itemRepository = itemRepository;
+        this.categoryCache = categoryCache;
+        this.recordReader = recordReader;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ImportReportDto importItems(InputStream inputStream, ImportFormat format) {
+        ImportReport report = new ImportReport();
+        Set<ItemNaturalKey> knownKeys = new HashSet<>(itemRepository.findAllNaturalKeys());
+        Set<ItemNaturalKey> chunkKeys = new HashSet<>();
+        Map<Long, Boolean> existingParents = new HashMap<>();
+        List<PendingItem> chunk = new ArrayList<>(CHUNK_SIZE);
+        int row = 0;
+
+        try (MappingIterator<ItemImportRow> records = recordReader.open(inputStream, format, ItemImportRow.class)) {
+            while (true) {
+                ItemImportRow record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    record = records.nextValue();
+                } catch (JsonMappingException ex) {
+                    // The record was well-formed but held a bad value; the iterator skips past it
+                    report.processed();
+                    report.failed(row, ex.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException ex) {
+                    report.aborted(row, "Malformed input: " + ex.getOriginalMessage());
+                    break;
+                }
+
+                report.processed();
+                PendingItem pending = prepare(row, record, knownKeys, chunkKeys, existingParents, report);
+                if (pending != null) {
+                    chunk.add(pending);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        flush(chunk, chunkKeys, knownKeys, report);
+                    }
+                }
+            }
+
+            flush(chunk, chunkKeys, knownKeys, report);
+        } catch (IOException ex) {
+            throw new InvalidEntityException("Could not read import: " + ex.getMessage());
+        } finally {
+            // Listeners rebuild from the tables, so they see every chunk that committed
+            if (report.imported() > 0) {
+                eventPublisher.publishEvent(new ItemsImportedEvent(report.imported()));
+            }
+        }
+
+        ImportReportDto result = report.toDto();
+        log.info("Item import finished: {} processed, {} imported, {} duplicates, {} failed",
+                result.getProcessed(), result.getImported(), result.getDuplicates(), result.getFailed());
+
+        return result;
+    }
+
+    /**
+     * Returns the record ready to insert, or {@code null} after reporting why it cannot be. A record
+     * is a duplicate of a stored item or of one already in the current chunk; the chunk's keys only
+     * join {@code knownKeys} once it commits.
+     */
+    private PendingItem prepare(int row, ItemImportRow record, Set<ItemNaturalKey> knownKeys,
+                                Set<ItemNaturalKey> chunkKeys, Map<Long, Boolean> existingParents,
+                                ImportReport report) {
+        Set<ConstraintViolation<ItemImportRow>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            report.failed(row, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        Set<String> missingSlugs = new TreeSet<>();
+        record.getCategorySlugs().forEach(slug -> categoryCache.findBySlug(slug.trim())
+                .map(CategoryDto::getId)
+                .ifPresentOrElse(categoryIds::add, () -> missingSlugs.add(slug)));
+        if (!missingSlugs.isEmpty()) {
+            report.failed(row, "Unknown categories: " + missingSlugs);
+            return null;
+        }
+
+        if (record.getParentId() != null
+                && !existingParents.computeIfAbsent(record.getParentId(), itemRepository::existsById)) {
+            report.failed(row, "Unknown parent item: " + record.getParentId());
+            return null;
+        }
+
+        ItemNaturalKey key = new ItemNaturalKey(record.getName(), record.getColor(), record.getSize());
+        if (knownKeys.contains(key) || !chunkKeys.add(key)) {
+            report.duplicate();
+            return null;
+        }
+
+        return new PendingItem(row, record, categoryIds);
+    }
+
+    private void flush(List<PendingItem> chunk, Set<ItemNaturalKey> chunkKeys, Set<ItemNaturalKey> knownKeys,
+                       ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            knownKeys.addAll(chunkKeys);
+            report.imported(chunk.size());
+        } catch (DataAccessException ex) {
+            log.warn("Item import chunk failed", ex);
+            chunk.forEach(pending -> report.failed(pending.row(), "Chunk rolled back: "
+                    + ex.getMostSpecificCause().getMessage()));
+        }
+
+        chunk.clear();
+        chunkKeys.clear();
+    }
+
+    private void insert(List<PendingItem> chunk) {
+        Timestamp now = Timestamp.from(Instant.now());
+
+        // IDENTITY keys stay, as seed data relies on them; the driver returns them for the whole batch
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ITEM, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(@NonNull PreparedStatement statement, int i) throws SQLException {
+                        ItemImportRow record = chunk.get(i).record();
+                        statement.setString(1, record.getName());
+                        statement.setString(2, record.getDescription());
+                        statement.setString(3, record.getColor());
+                        statement.setString(4, record.getSize().name());
+                        statement.setInt(5, record.getStock());
+                        statement.setBigDecimal(6, record.getPrice());
+                        if (record.getDiscountType() != null) {
+                            statement.setString(7, record.getDiscountType().name());
+                        } else {
+                            statement.setNull(7, Types.VARCHAR);
+                        }
+                        if (record.getDiscountValue() != null) {
+                            statement.setDouble(8, record.getDiscountValue());
+                        } else {
+                            statement.setNull(8, Types.DOUBLE);
+                        }
+                        if (record.getParentId() != null) {
+                            statement.setLong(9, record.getParentId());
+                        } else {
+                            statement.setNull(9, Types.BIGINT);
+                        }
+                        statement.setTimestamp(10, now);
+                        statement.setTimestamp(11, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Object[]> images = new ArrayList<>();
+        List<Object[]> categories = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            long itemId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            PendingItem pending = chunk.get(i);
+
+            List<String> imageUrls = pending.record().getImageUrls();
+            for (int order = 0; order < imageUrls.size(); order++) {
+                images.add(new Object[]{itemId, imageUrls.get(order), pending.record().getName(), order, order == 0});
+            }
+            pending.categoryIds().forEach(categoryId -> categories.add(new Object[]{itemId, categoryId}));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_IMAGE, images);
+        jdbcTemplate.batchUpdate(INSERT_ITEM_CATEGORY, categories);
+    }
+
+    private record PendingItem(int row, ItemImportRow record, Set<Long> categoryIds) {
+    }
+}
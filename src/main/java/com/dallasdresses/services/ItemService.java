@@ -1,16 +1,29 @@
 package com.dallasdresses.services;
 
 import com.dallasdresses.dtos.request.ItemCreateRequest;
+import com.dallasdresses.dtos.request.ItemFilterRequest;
+import com.dallasdresses.dtos.request.ItemSort;
 import com.dallasdresses.dtos.request.ItemUpdateRequest;
 import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.dtos.response.ItemFilterResultDto;
+import com.dallasdresses.dtos.response.ItemSearchResultDto;
+import com.dallasdresses.pagination.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
 
     List<ItemDto> getAllItems();
-    List<ItemDto> getItemsByCategory(String category);
+    CursorPage<ItemDto> getItemsPage(String cursor, Integer limit, ItemSort sort);
+    long countItems();
+    CursorPage<ItemDto> getItemsByCategory(String slug, String cursor, Integer limit, ItemSort sort);
+    long countItemsByCategory(String slug);
+    ItemFilterResultDto filterItems(ItemFilterRequest request);
+    ItemSearchResultDto searchItems(String query, Integer limit, Integer offset);
+    long exportItems(Consumer<List<ItemDto>> chunkConsumer);
     ItemDto getItemById(Long id);
+    ItemDto getItemFamily(Long itemId);
     ItemDto createItem(ItemCreateRequest request);
     ItemDto updateItem(Long id, ItemUpdateRequest request);
     void deleteItem(Long id);
@@ -1,51 +1,341 @@
 package com.dallasdresses.services;
 
+import com.dallasdresses.cache.CategoryCache;
+import com.dallasdresses.cache.CategoryItemIndex;
+import com.dallasdresses.cache.ItemFacetIndex;
+import com.dallasdresses.cache.ItemFamilyCache;
+import com.dallasdresses.cache.ItemSearchIndex;
+import com.dallasdresses.cache.ItemSortIndex;
+import com.dallasdresses.converters.ItemRowToItemDtoConverter;
 import com.dallasdresses.converters.ItemToItemDtoConverter;
+import com.dallasdresses.dtos.projection.ItemRow;
 import com.dallasdresses.dtos.request.*;
+import com.dallasdresses.dtos.response.CategoryDto;
 import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.dtos.response.ItemFacetsDto;
+import com.dallasdresses.dtos.response.ItemFilterResultDto;
+import com.dallasdresses.dtos.response.ItemSearchResultDto;
 import com.dallasdresses.entities.Category;
 import com.dallasdresses.entities.Item;
 import com.dallasdresses.entities.ItemImage;
+import com.dallasdresses.events.ItemChangedEvent;
 import com.dallasdresses.exceptions.DuplicateEntityException;
 import com.dallasdresses.exceptions.EntityNotFoundException;
 import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.pagination.CursorPage;
+import com.dallasdresses.pagination.KeysetCursor;
 import com.dallasdresses.repositories.CategoryRepository;
 import com.dallasdresses.repositories.ItemRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
+    // Keeps IN lists well below database parameter limits
+    private static final int FETCH_BATCH_SIZE = 500;
+
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SEARCH_OFFSET = 1000;
+
     private final ItemRepository itemRepository;
     private final CategoryRepository categoryRepository;
     private final ItemToItemDtoConverter itemDtoConverter;
+    private final ItemRowToItemDtoConverter itemRowDtoConverter;
+    private final CategoryCache categoryCache;
+    private final CategoryItemIndex categoryItemIndex;
+    private final ItemFacetIndex itemFacetIndex;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSortIndex itemSortIndex;
+    private final ItemFamilyCache itemFamilyCache;
+    private final InventoryService inventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.catalog.page-size.default:24}")
+    private int defaultPageSize = 24;
+
+    @Value("${app.catalog.page-size.max:100}")
+    private int maxPageSize = 100;
 
     public ItemServiceImpl(ItemRepository itemRepository, CategoryRepository categoryRepository,
-                           ItemToItemDtoConverter itemDtoConverter) {
+                           ItemToItemDtoConverter itemDtoConverter,
+                           ItemRowToItemDtoConverter itemRowDtoConverter,
+                           CategoryCache categoryCache,
+                           CategoryItemIndex categoryItemIndex,
+                           ItemFacetIndex itemFacetIndex,
+                           ItemSearchIndex itemSearchIndex,
+                           ItemSortIndex itemSortIndex,
+                           ItemFamilyCache itemFamilyCache,
+                           InventoryService inventoryService,
+                           ApplicationEventPublisher eventPublisher) {
         this.itemRepository = itemRepository;
         this.categoryRepository = categoryRepository;
         this.itemDtoConverter = itemDtoConverter;
+        this.itemRowDtoConverter = itemRowDtoConverter;
+        this.categoryCache = categoryCache;
+        this.categoryItemIndex = categoryItemIndex;
+        this.itemFacetIndex = itemFacetIndex;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemSortIndex = itemSortIndex;
+        this.itemFamilyCache = itemFamilyCache;
+        this.inventoryService = inventoryService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public List<ItemDto> getAllItems() {
-        return itemRepository.findAllWithCategories().stream()
-                .map(itemDtoConverter::convert)
-                .collect(Collectors.toList());
+        return assembleItemDtos(itemRepository.findAllRows());
+    }
+
+    @Override
+    public CursorPage<ItemDto> getItemsPage(String cursor, Integer limit, ItemSort sort) {
+        int pageSize = resolvePageSize(limit);
+        if (isPrecomputed(sort)) {
+            return getSortedPage(null, cursor, pageSize, sort);
+        }
+
+        // Fetch one extra row to find out whether another page exists without counting
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<ItemRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = itemRepository.findFirstPageRows(fetchLimit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (position.createdAt() == null) {
+                throw new InvalidEntityException("Invalid page cursor: " + cursor);
+            }
+            rows = itemRepository.findPageRowsAfter(position.createdAt(), position.id(), fetchLimit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ItemRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ItemRow last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return CursorPage.<ItemDto>builder()
+                .items(assembleItemDtos(page))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    @Override
+    public long countItems() {
+        return itemRepository.count();
+    }
+
+    @Override
+    public CursorPage<ItemDto> getItemsByCategory(String slug, String cursor, Integer limit, ItemSort sort) {
+        int pageSize = resolvePageSize(limit);
+
+        Optional<CategoryDto> category = categoryCache.findBySlug(slug);
+        if (category.isEmpty()) {
+            return CursorPage.<ItemDto>builder()
+                    .items(List.of())
+                    .hasMore(false)
+                    .limit(pageSize)
+                    .build();
+        }
+
+        if (isPrecomputed(sort)) {
+            return getSortedPage(category.get().getId(), cursor, pageSize, sort);
+        }
+
+        Long afterId = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor).id();
+
+        // Page ids come from the membership index, so only the rows of this page are queried
+        List<Long> ids = categoryItemIndex.findItemIds(category.get().getId(), afterId, pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+
+        List<ItemDto> items = pageIds.isEmpty()
+                ? List.of()
+                : assembleItemDtos(itemRepository.findRowsByIdIn(pageIds));
+
+        return CursorPage.<ItemDto>builder()
+                .items(items)
+                .nextCursor(hasMore ? KeysetCursor.of(pageIds.get(pageIds.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    @Override
+    public long countItemsByCategory(String slug) {
+        return categoryCache.findBySlug(slug)
+                .map(category -> (long) categoryItemIndex.countItems(category.getId()))
+                .orElse(0L);
+    }
+
+    @Override
+    public ItemFilterResultDto filterItems(ItemFilterRequest request) {
+        if (request == null) {
+            throw new InvalidEntityException("request cannot be null");
+        }
+
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new InvalidEntityException("minPrice cannot be greater than maxPrice");
+        }
+
+        // The facet index only keeps id and price orderings
+        if (request.getSort() == ItemSort.NEWEST) {
+            throw new InvalidEntityException("Filtered items cannot be sorted by " + ItemSort.NEWEST);
+        }
+
+        int pageSize = resolvePageSize(request.getLimit());
+        boolean sortedByPrice = request.getSort() == ItemSort.PRICE_ASC || request.getSort() == ItemSort.PRICE_DESC;
+        KeysetCursor position = request.getCursor() == null || request.getCursor().isBlank()
+                ? null
+                : KeysetCursor.decode(request.getCursor());
+        if (position != null && sortedByPrice && position.sortValue() == null) {
+            throw new InvalidEntityException("Invalid page cursor: " + request.getCursor());
+        }
+
+        // Unknown slugs resolve to no category, so a filter of only unknown slugs matches nothing
+        Set<Long> categoryIds = null;
+        if (request.getCategories() != null && !request.getCategories().isEmpty()) {
+            categoryIds = new HashSet<>();
+            for (String slug : request.getCategories()) {
+                categoryCache.findBySlug(slug).map(CategoryDto::getId).ifPresent(categoryIds::add);
+            }
+        }
+
+        Set<String> colors = request.getColors() == null || request.getColors().isEmpty()
+                ? null
+                : request.getColors().stream().map(ItemFacetIndex::normalizeColor).collect(Collectors.toSet());
+
+        ItemFacetIndex.Result result = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                request.getSizes() == null || request.getSizes().isEmpty() ? null : request.getSizes(),
+                colors,
+                categoryIds,
+                request.getMinPrice() == null ? null : ItemFacetIndex.toCents(request.getMinPrice()),
+                request.getMaxPrice() == null ? null : ItemFacetIndex.toCents(request.getMaxPrice()),
+                request.getDiscounted(),
+                position == null ? null : position.id(),
+                pageSize,
+                request.getSort(),
+                position == null || !sortedByPrice ? null : position.sortValue()));
+
+        List<ItemDto> items = sortedByPrice
+                ? assembleItemDtosInOrder(result.itemIds())
+                : result.itemIds().isEmpty()
+                    ? List.of()
+                    : assembleItemDtos(itemRepository.findRowsByIdIn(result.itemIds()));
+
+        // Facet counts are keyed by category id in the index; clients filter by slug
+        Map<String, Integer> categoryCounts = new LinkedHashMap<>();
+        result.categoryCounts().forEach((categoryId, count) -> categoryCache.findById(categoryId)
+                .ifPresent(category -> categoryCounts.put(category.getSlug(), count)));
+
+        List<Long> pageIds = result.itemIds();
+        String nextCursor = null;
+        if (result.hasMore()) {
+            Long lastId = pageIds.get(pageIds.size() - 1);
+            nextCursor = sortedByPrice
+                    ? KeysetCursor.of(result.lastPriceCents(), lastId).encode()
+                    : KeysetCursor.of(lastId).encode();
+        }
+
+        CursorPage<ItemDto> page = CursorPage.<ItemDto>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(result.hasMore())
+                .limit(pageSize)
+                .build();
+
+        return ItemFilterResultDto.builder()
+                .page(page)
+                .facets(ItemFacetsDto.builder()
+                        .sizes(result.sizeCounts())
+                        .colors(result.colorCounts())
+                        .categories(categoryCounts)
+                        .discounted(result.discountedCount())
+                        .regular(result.regularCount())
+                        .build())
+                .totalCount(result.total())
+                .build();
+    }
+
+    @Override
+    public ItemSearchResultDto searchItems(String query, Integer limit, Integer offset) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidEntityException("search query cannot be blank");
+        }
+
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidEntityException("search query must not exceed " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
+        int pageSize = resolvePageSize(limit);
+        int skip = offset == null ? 0 : offset;
+        if (skip < 0 || skip > MAX_SEARCH_OFFSET) {
+            throw new InvalidEntityException("offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+
+        ItemSearchIndex.Hits hits = itemSearchIndex.search(query, skip, pageSize);
+
+        List<ItemDto> items = new ArrayList<>(hits.itemIds().size());
+        if (!hits.itemIds().isEmpty()) {
+            // Rows come back in id order; put them back in rank order
+            Map<Long, ItemDto> byId = new HashMap<>();
+            assembleItemDtos(itemRepository.findRowsByIdIn(hits.itemIds()))
+                    .forEach(item -> byId.put(item.getId(), item));
+            hits.itemIds().stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .forEach(items::add);
+        }
+
+        return ItemSearchResultDto.builder()
+                .items(items)
+                .totalHits(hits.total())
+                .offset(skip)
+                .limit(pageSize)
+                .build();
     }
 
+    /**
+     * Hands the whole catalog to {@code chunkConsumer} in id order, a batch at a time, so memory
+     * use does not grow with the catalog. Rows are projections, so nothing accumulates in the
+     * persistence context while the cursor is open.
+     */
     @Override
-    public List<ItemDto> getItemsByCategory(String slug) {
-        return itemRepository.findItemsByCategorySlug(slug).stream()
-                .map(itemDtoConverter::convert)
-                .collect(Collectors.toList());
+    public long exportItems(Consumer<List<ItemDto>> chunkConsumer) {
+        long exported = 0;
+        List<ItemRow> chunk = new ArrayList<>(FETCH_BATCH_SIZE);
+
+        try (Stream<ItemRow> rows = itemRepository.streamAllRows()) {
+            Iterator<ItemRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == FETCH_BATCH_SIZE || !iterator.hasNext()) {
+                    chunkConsumer.accept(assembleItemDtos(chunk));
+                    exported += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+
+        return exported;
     }
 
     @Override
@@ -56,6 +346,43 @@ public class ItemServiceImpl implements ItemService {
         return itemDtoConverter.convert(item);
     }
 
+    /**
+     * Returns the root of the item's variant family with {@code children} filled in all the way
+     * down. A cached family costs one batched read of its members; otherwise the tree is first
+     * found with a single recursive query.
+     */
+    @Override
+    public ItemDto getItemFamily(Long itemId) {
+        ItemFamilyCache.Family family = itemFamilyCache.get(itemId);
+        if (family == null) {
+            long stamp = itemFamilyCache.stamp();
+            List<Object[]> links = itemRepository.findFamilyLinks(itemId);
+            if (links.isEmpty()) {
+                throw new EntityNotFoundException("item", itemId);
+            }
+            family = ItemFamilyCache.Family.of(links);
+            itemFamilyCache.put(family, stamp);
+        }
+
+        List<Long> memberIds = family.memberIds().stream().sorted().toList();
+        Map<Long, ItemDto> byId = new HashMap<>();
+        assembleItemDtos(itemRepository.findRowsByIdIn(memberIds)).forEach(item -> byId.put(item.getId(), item));
+
+        ItemDto root = byId.get(family.rootId());
+        if (root == null) {
+            throw new EntityNotFoundException("item", itemId);
+        }
+
+        for (ItemDto member : byId.values()) {
+            member.setChildren(family.childrenOf(member.getId()).stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+
+        return root;
+    }
+
     @Override
     @Transactional
     public ItemDto createItem(ItemCreateRequest request) {
@@ -107,7 +434,10 @@ public class ItemServiceImpl implements ItemService {
         // Save item
         Item savedItem = itemRepository.save(item);
 
-        return itemDtoConverter.convert(savedItem);
+        ItemDto savedItemDto = itemDtoConverter.convert(savedItem);
+        eventPublisher.publishEvent(ItemChangedEvent.created(savedItemDto));
+
+        return savedItemDto;
     }
 
     @Override
@@ -118,6 +448,11 @@ public class ItemServiceImpl implements ItemService {
             throw new InvalidEntityException("request body is null");
         }
 
+        // Checked up front, as the stock itself is only applied after commit
+        if (request.getStock() != null && request.getStock() < 0) {
+            throw new InvalidEntityException("Stock cannot be negative");
+        }
+
         // Fetch item with id
         Item existingItem = itemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("item", id));
@@ -138,17 +473,144 @@ public class ItemServiceImpl implements ItemService {
         // Save item
         Item savedItem = itemRepository.save(existingItem);
 
-        return itemDtoConverter.convert(savedItem);
+        ItemDto savedItemDto = itemDtoConverter.convert(savedItem);
+
+        // Stock is owned by the inventory counters; writing the column here would undo unflushed reservations.
+        // The counter only moves once the update has committed, so a rollback cannot leave it behind.
+        if (request.getStock() != null) {
+            Integer stock = request.getStock();
+            afterCommit(() -> inventoryService.setStock(id, stock));
+            savedItemDto.setStock(stock);
+        }
+
+        eventPublisher.publishEvent(ItemChangedEvent.updated(savedItemDto));
+
+        return savedItemDto;
     }
 
     @Override
     @Transactional
     public void deleteItem(Long id) {
-        if (!itemRepository.existsById(id)) {
-            throw new EntityNotFoundException("item", id);
+        Item item = itemRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("item", id));
+
+        // Children are removed by cascade, so they have to be reported as deleted too
+        List<Long> deletedIds = new ArrayList<>();
+        collectItemIds(item, deletedIds);
+
+        itemRepository.delete(item);
+        deletedIds.forEach(deletedId -> eventPublisher.publishEvent(ItemChangedEvent.deleted(deletedId)));
+    }
+
+    private static boolean isPrecomputed(ItemSort sort) {
+        return sort != null && sort != ItemSort.ID;
+    }
+
+    /**
+     * Serves a price or newest ordered page, of one category or of the whole catalog, as a slice of
+     * the precomputed orderings: price order from the facet index, newest from the sort index. Only
+     * the rows of the page itself are queried.
+     */
+    private CursorPage<ItemDto> getSortedPage(Long categoryId, String cursor, int pageSize, ItemSort sort) {
+        KeysetCursor position = null;
+        if (cursor != null && !cursor.isBlank()) {
+            position = KeysetCursor.decode(cursor);
+            if (position.sortValue() == null) {
+                throw new InvalidEntityException("Invalid page cursor: " + cursor);
+            }
+        }
+        Long afterValue = position == null ? null : position.sortValue();
+        Long afterId = position == null ? null : position.id();
+
+        List<Long> pageIds;
+        boolean hasMore;
+        Long lastValue;
+        if (sort == ItemSort.NEWEST) {
+            List<ItemSortIndex.SortedItem> sorted = itemSortIndex.findNewest(categoryId, afterValue, afterId,
+                    pageSize + 1);
+            hasMore = sorted.size() > pageSize;
+            List<ItemSortIndex.SortedItem> page = hasMore ? sorted.subList(0, pageSize) : sorted;
+            pageIds = page.stream().map(ItemSortIndex.SortedItem::id).toList();
+            lastValue = page.isEmpty() ? null : page.get(page.size() - 1).sortValue();
+        } else {
+            ItemFacetIndex.PricePage page = itemFacetIndex.findByPrice(categoryId, sort, afterValue, afterId,
+                    pageSize);
+            hasMore = page.hasMore();
+            pageIds = page.itemIds();
+            lastValue = page.lastPriceCents();
         }
 
-        itemRepository.deleteById(id);
+        String nextCursor = hasMore ? KeysetCursor.of(lastValue, pageIds.get(pageIds.size() - 1)).encode() : null;
+
+        return CursorPage.<ItemDto>builder()
+                .items(assembleItemDtosInOrder(pageIds))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    /**
+     * Loads the given items and returns them in the order of {@code ids}; rows come back in id order.
+     */
+    private List<ItemDto> assembleItemDtosInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ItemDto> byId = new HashMap<>();
+        assembleItemDtos(itemRepository.findRowsByIdIn(ids)).forEach(item -> byId.put(item.getId(), item));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Converts projected item rows, attaching categories and images loaded with one query per
+     * association per batch of ids instead of one lazy load per item.
+     */
+    private List<ItemDto> assembleItemDtos(List<ItemRow> rows) {
+        Map<Long, ItemDto> itemDtos = new LinkedHashMap<>(rows.size());
+        rows.forEach(row -> itemDtos.put(row.id(), itemRowDtoConverter.convert(row)));
+
+        List<Long> ids = new ArrayList<>(itemDtos.keySet());
+        for (int from = 0; from < ids.size(); from += FETCH_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + FETCH_BATCH_SIZE, ids.size()));
+
+            itemRepository.findCategoryRowsByItemIdIn(batch).forEach(row ->
+                    itemDtos.get(row.itemId()).getCategories().add(CategoryDto.builder()
+                            .id(row.categoryId())
+                            .name(row.name())
+                            .slug(row.slug())
+                            .build()));
+
+            itemRepository.findImageDtosByItemIdIn(batch).forEach(image ->
+                    itemDtos.get(image.getItemId()).getItemImages().add(image));
+        }
+
+        return new ArrayList<>(itemDtos.values());
+    }
+
+    private void collectItemIds(Item item, List<Long> ids) {
+        ids.add(item.getId());
+        item.getChildren().forEach(child -> collectItemIds(child, ids));
+    }
+
+    /**
+     * Falls back to the configured default and caps the page size at the configured maximum.
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+
+        if (limit < 1) {
+            throw new InvalidEntityException("limit must be greater than zero");
+        }
+
+        return Math.min(limit, maxPageSize);
     }
 
     /**
@@ -159,23 +621,26 @@ public class ItemServiceImpl implements ItemService {
             throw new InvalidEntityException("At least one category is required");
         }
 
-        // Fetch categories by slugs
-        List<Category> categories = categoryRepository.findBySlugIn(categorySlugs);
+        // Only the owning side is updated; touching Category.items would load every item of the category
+        item.getCategories().addAll(resolveCategories(categorySlugs));
+    }
 
-        // Verify all categories exist
-        if (categories.size() != categorySlugs.size()) {
-            Set<String> foundSlugs = categories.stream()
-                    .map(Category::getSlug)
-                    .collect(Collectors.toSet());
+    /**
+     * Resolves slugs through the category cache, so unknown slugs are rejected without a query,
+     * then loads the matching categories by primary key in one statement.
+     */
+    private List<Category> resolveCategories(Set<String> categorySlugs) {
+        List<Long> categoryIds = new ArrayList<>(categorySlugs.size());
+        Set<String> missingSlugs = new HashSet<>();
 
-            Set<String> missingSlugs = new HashSet<>(categorySlugs);
-            missingSlugs.removeAll(foundSlugs);
+        categorySlugs.forEach(slug -> categoryCache.findBySlug(slug)
+                .ifPresentOrElse(category -> categoryIds.add(category.getId()), () -> missingSlugs.add(slug)));
 
+        if (!missingSlugs.isEmpty()) {
             throw new EntityNotFoundException("categories with slugs:" + missingSlugs);
         }
 
-        // Add all categories to item
-        categories.forEach(item::addCategory);
+        return categoryRepository.findAllById(categoryIds);
     }
 
     /**
@@ -218,10 +683,6 @@ public class ItemServiceImpl implements ItemService {
             existingItem.setSize(request.getSize());
         }
 
-        if (request.getStock() != null) {
-            existingItem.setStock(request.getStock());
-        }
-
         if (request.getPrice() != null) {
             existingItem.setPrice(request.getPrice());
         }
@@ -256,37 +717,11 @@ public class ItemServiceImpl implements ItemService {
             throw new InvalidEntityException("At least one category is required");
         }
 
-        // Fetch categories by slug
-        List<Category> categories = categoryRepository.findBySlugIn(categorySlugs);
-
-        // Verify that all the categories exist
-        if (categories.size() != categorySlugs.size()) {
-            Set<String> foundSlugs = categories.stream()
-                    .map(Category::getSlug)
-                    .collect(Collectors.toSet());
-
-            Set<String> missingSlugs = new HashSet<>(categorySlugs);
-            missingSlugs.removeAll(foundSlugs);
-
-            throw new EntityNotFoundException("categories with slugs:" + missingSlugs);
-        }
-
-        // Create map for lookup
-        Map<String, Category> categoryMap = categories.stream()
-                .collect(Collectors.toMap(Category::getSlug, c -> c));
-
-        // Clear existing categories
-        Set<Category> existingCategories = new HashSet<>(item.getCategories());
-        existingCategories.forEach(item::removeCategory);
-
-        // Add new categories
-        categorySlugs.forEach(slug -> {
-            Category category = categoryMap.get(slug);
+        List<Category> categories = resolveCategories(categorySlugs);
 
-            if (category != null) {
-                item.addCategory(category);
-            }
-        });
+        // Replace on the owning side only, for the same reason as in handleCategories
+        item.getCategories().clear();
+        item.getCategories().addAll(categories);
     }
 
     /**
@@ -312,4 +747,18 @@ public class ItemServiceImpl implements ItemService {
             });
         }
     }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,9 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.request.OrderCreateRequest;
+import com.dallasdresses.dtos.response.OrderDto;
+
+public interface OrderService {
+
+    OrderDto placeOrder(Long userId, String idempotencyKey, OrderCreateRequest request);
+}
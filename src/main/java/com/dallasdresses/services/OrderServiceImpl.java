@@ -0,0 +1,292 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.converters.AddressToAddressDtoConverter;
+import com.dallasdresses.dtos.projection.CartLineRow;
+import com.dallasdresses.dtos.projection.CartSnapshot;
+import com.dallasdresses.dtos.request.OrderCreateRequest;
+import com.dallasdresses.dtos.response.AddressDto;
+import com.dallasdresses.dtos.response.CartItemDto;
+import com.dallasdresses.dtos.response.OrderDto;
+import com.dallasdresses.entities.Order;
+import com.dallasdresses.entities.enums.OrderStatus;
+import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.exceptions.IdempotencyKeyConflictException;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.orders.NewOrder;
+import com.dallasdresses.orders.OrderBatchWriter;
+import com.dallasdresses.repositories.AddressRepository;
+import com.dallasdresses.repositories.CartItemRepository;
+import com.dallasdresses.repositories.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Places an order from the shopper's cart in four timed stages: the shipping address is resolved, the
+ * cart is written and closed, stock is reserved in memory, and the order row goes out through the
+ * {@link OrderBatchWriter} together with any other checkouts in flight. The writer takes the stock off
+ * the items table in the transaction that inserts the order, so the committed order and its decrement
+ * survive a crash together. A failure in a later stage gives the stock back and reopens the cart.
+ * <p>
+ * Requests carrying an idempotency key are remembered per user, so a retry is answered with the
+ * original order, waiting for it if it is still being placed. Keys that have been pushed out of
+ * memory are still found through the unique key on the orders table. The order keeps a fingerprint
+ * of the request, and a key reused for a different request is refused rather than answered.
+ */
+@Service
+public class OrderServiceImpl implements OrderService {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
+    private final CartService cartService;
+    private final InventoryService inventoryService;
+    private final AddressRepository addressRepository;
+    private final AddressToAddressDtoConverter addressConverter;
+    private final OrderRepository orderRepository;
+    private final CartItemRepository cartItemRepository;
+    private final OrderBatchWriter orderBatchWriter;
+
+    private final Timer addressTimer;
+    private final Timer cartTimer;
+    private final Timer stockTimer;
+    private final Timer persistTimer;
+    private final Timer totalTimer;
+    private final Counter replays;
+
+    // Guarded by itself
+    private final Map<RequestKey, Attempt> recentOrders;
+
+    @Value("${app.orders.idempotency.max-keys:10000}")
+    private int maxRememberedKeys = 10_000;
+
+    public OrderServiceImpl(CartService cartService, InventoryService inventoryService,
+                            AddressRepository addressRepository, AddressToAddressDtoConverter addressConverter,
+                            OrderRepository orderRepository, CartItemRepository cartItemRepository,
+                            OrderBatchWriter orderBatchWriter, MeterRegistry meterRegistry) {
+        this.cartService = cartService;
+        this.inventoryService = inventoryService;
+        this.addressRepository = addressRepository;
+        this.addressConverter = addressConverter;
+        this.orderRepository = orderRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.orderBatchWriter = orderBatchWriter;
+        this.addressTimer = stageTimer(meterRegistry, "address");
+        this.cartTimer = stageTimer(meterRegistry, "cart");
+        this.stockTimer = stageTimer(meterRegistry, "stock");
+        this.persistTimer = stageTimer(meterRegistry, "persist");
+        this.totalTimer = stageTimer(meterRegistry, "total");
+        this.replays = Counter.builder("orders.idempotent.replays")
+                .description("Order requests answered with an order placed by an earlier attempt")
+                .register(meterRegistry);
+        this.recentOrders = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RequestKey, Attempt> eldest) {
+                return size() > maxRememberedKeys;
+            }
+        };
+    }
+
+    @Override
+    public OrderDto placeOrder(Long userId, String idempotencyKey, OrderCreateRequest request) {
+        String fingerprint = fingerprint(request);
+        if (idempotencyKey == null) {
+            return totalTimer.record(() -> place(userId, null, fingerprint, request));
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidEntityException(
+                    "Idempotency key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        RequestKey key = new RequestKey(userId, idempotencyKey);
+        Attempt attempt = new Attempt(fingerprint, new CompletableFuture<>());
+        Attempt earlier;
+        synchronized (recentOrders) {
+            earlier = recentOrders.putIfAbsent(key, attempt);
+        }
+
+        if (earlier != null) {
+            if (!earlier.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyConflictException(idempotencyKey);
+            }
+            replays.increment();
+            return await(earlier.order());
+        }
+
+        try {
+            OrderDto order = totalTimer.record(() -> findPlacedOrder(userId, idempotencyKey, fingerprint)
+                    .map(placed -> {
+                        replays.increment();
+                        return placed;
+                    })
+                    .orElseGet(() -> placeOnce(userId, idempotencyKey, fingerprint, request)));
+            attempt.order().complete(order);
+            return order;
+        } catch (RuntimeException ex) {
+            // A failed attempt is forgotten so that the client's retry places the order afresh
+            synchronized (recentOrders) {
+                recentOrders.remove(key, attempt);
+            }
+            attempt.order().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private OrderDto placeOnce(Long userId, String idempotencyKey, String fingerprint,
+                               OrderCreateRequest request) {
+        try {
+            return place(userId, idempotencyKey, fingerprint, request);
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance got the same key in first; its order is the answer
+            return findPlacedOrder(userId, idempotencyKey, fingerprint).orElseThrow(() -> ex);
+        }
+    }
+
+    private OrderDto place(Long userId, String idempotencyKey, String fingerprint, OrderCreateRequest request) {
+        AddressDto address = addressTimer.record(() -> addressRepository
+                .findByIdAndUserId(request.getAddressId(), userId)
+                .map(addressConverter::convert)
+                .orElseThrow(() -> new EntityNotFoundException("address", request.getAddressId())));
+
+        CartSnapshot snapshot = cartTimer.record(() -> cartService.checkout(userId));
+
+        List<CartItemDto> reserved = new ArrayList<>();
+        boolean placed = false;
+        try {
+            stockTimer.record(() -> reserveStock(snapshot.cart().getItems(), reserved));
+
+            NewOrder order = new NewOrder(
+                    snapshot.cartId(),
+                    userId,
+                    OrderStatus.PROCESSING,
+                    idempotencyKey,
+                    fingerprint,
+                    snapshot.cart().getSubtotal(),
+                    address.getAddressLine1(),
+                    address.getAddressLine2(),
+                    address.getCity(),
+                    address.getState(),
+                    address.getCountry(),
+                    address.getPostalCode(),
+                    Timestamp.from(Instant.now()),
+                    snapshot.cart().getItems().stream()
+                            .map(line -> new NewOrder.Line(line.getItemId(), line.getQuantity()))
+                            .toList());
+            Long orderId = persistTimer.record(() -> await(orderBatchWriter.submit(order)));
+            placed = true;
+            reserved.forEach(line -> inventoryService.confirm(line.getItemId(), line.getQuantity()));
+
+            return toDto(orderId, order, snapshot.cart().getItems());
+        } finally {
+            if (!placed) {
+                reserved.forEach(line -> inventoryService.release(line.getItemId(), line.getQuantity()));
+            }
+            cartService.completeCheckout(userId, snapshot.cartId(), placed);
+        }
+    }
+
+    private void reserveStock(List<CartItemDto> lines, List<CartItemDto> reserved) {
+        for (CartItemDto line : lines) {
+            if (!inventoryService.reserve(line.getItemId(), line.getQuantity())) {
+                throw new InvalidEntityException("Not enough stock for item " + line.getItemId());
+            }
+            reserved.add(line);
+        }
+    }
+
+    private Optional<OrderDto> findPlacedOrder(Long userId, String idempotencyKey, String fingerprint) {
+        return orderRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey).map(order -> {
+            // Orders placed before fingerprints were kept have none and are trusted
+            if (order.getRequestFingerprint() != null && !order.getRequestFingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyConflictException(idempotencyKey);
+            }
+            return toDto(order);
+        });
+    }
+
+    // Every field of the request belongs in here, or a retry that changed it would be answered as a replay
+    private static String fingerprint(OrderCreateRequest request) {
+        return "addressId=" + request.getAddressId();
+    }
+
+    private OrderDto toDto(Order order) {
+        List<CartItemDto> items = new ArrayList<>();
+        for (CartLineRow row : cartItemRepository.findLinesByCartId(order.getCart().getId())) {
+            items.add(CartItemDto.builder()
+                    .itemId(row.itemId())
+                    .quantity(row.quantity())
+                    .priceAtAdd(row.priceAtAdd())
+                    .lineTotal(row.priceAtAdd().multiply(BigDecimal.valueOf(row.quantity())))
+                    .build());
+        }
+
+        return OrderDto.builder()
+                .id(order.getId())
+                .userId(order.getUser().getId())
+                .status(order.getStatus())
+                .items(items)
+                .totalQuantity(items.stream().mapToInt(CartItemDto::getQuantity).sum())
+                .subtotal(order.getSubtotal())
+                .addressLine1(order.getAddressLine1())
+                .addressLine2(order.getAddressLine2())
+                .city(order.getCity())
+                .state(order.getState())
+                .country(order.getCountry())
+                .postalCode(order.getPostalCode())
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+
+    private static OrderDto toDto(Long orderId, NewOrder order, List<CartItemDto> items) {
+        return OrderDto.builder()
+                .id(orderId)
+                .userId(order.userId())
+                .status(order.status())
+                .items(items)
+                .totalQuantity(items.stream().mapToInt(CartItemDto::getQuantity).sum())
+                .subtotal(order.subtotal())
+                .addressLine1(order.addressLine1())
+                .addressLine2(order.addressLine2())
+                .city(order.city())
+                .state(order.state())
+                .country(order.country())
+                .postalCode(order.postalCode())
+                .createdAt(order.createdAt())
+                .build();
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("orders.checkout.latency")
+                .description("Time spent in each stage of placing an order")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record RequestKey(Long userId, String idempotencyKey) {
+    }
+
+    private record Attempt(String fingerprint, CompletableFuture<OrderDto> order) {
+    }
+}
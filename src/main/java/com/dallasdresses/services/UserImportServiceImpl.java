@@ -0,0 +1,270 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.cache.CountryCache;
+import com.dallasdresses.dtos.request.UserImportRow;
+import com.dallasdresses.dtos.response.ImportReportDto;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.imports.ImportFormat;
+import com.dallasdresses.imports.ImportRecordReader;
+import com.dallasdresses.imports.ImportReport;
+import com.dallasdresses.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users and their addresses from a CSV or NDJSON stream. Countries are resolved through
+ * {@link CountryCache} and existing emails are loaded once up front; emails and addresses are
+ * deduplicated in memory, and users and addresses are written in chunks with JDBC batch inserts,
+ * one transaction per chunk. Only the email and address keys of imported users are kept for the
+ * length of the import.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (email, role, locale, email_verified, first_name, last_name, telephone, avatar,
+                               created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_ADDRESS = """
+            INSERT INTO addresses (user_id, address_type, address_line1, address_line2, city, state, country_id,
+                                   postal_code, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final CountryCache countryCache;
+    private final ImportRecordReader recordReader;
+    private final Validator validator;
+
+    public UserImportServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 UserRepository userRepository, CountryCache countryCache,
+                                 ImportRecordReader recordReader, Validator validator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.countryCache = countryCache;
+        this.recordReader = recordReader;
+        this.validator = validator;
+    }
+
+    @Override
+    public ImportReportDto importUsers(InputStream inputStream, ImportFormat format) {
+        ImportReport report = new ImportReport();
+        Set<String> existingEmails = new HashSet<>(userRepository.findAllEmails());
+        Map<String, ImportedUser> importedUsers = new HashMap<>();
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        int row = 0;
+
+        try (MappingIterator<UserImportRow> records = recordReader.open(inputStream, format, UserImportRow.class)) {
+            while (true) {
+                UserImportRow record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    record = records.nextValue();
+                } catch (JsonMappingException ex) {
+                    // The record was well-formed but held a bad value; the iterator skips past it
+                    report.processed();
+                    report.failed(row, ex.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException ex) {
+                    report.aborted(row, "Malformed input: " + ex.getOriginalMessage());
+                    break;
+                }
+
+                report.processed();
+                PendingRow pending = prepare(row, record, existingEmails, importedUsers, report);
+                if (pending != null) {
+                    chunk.add(pending);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        flush(chunk, report);
+                    }
+                }
+            }
+
+            flush(chunk, report);
+        } catch (IOException ex) {
+            throw new InvalidEntityException("Could not read import: " + ex.getMessage());
+        }
+
+        ImportReportDto result = report.toDto();
+        log.info("User import finished: {} processed, {} imported, {} duplicates, {} failed",
+                result.getProcessed(), result.getImported(), result.getDuplicates(), result.getFailed());
+
+        return result;
+    }
+
+    /**
+     * Returns the record ready to insert, or {@code null} after reporting why it cannot be.
+     */
+    private PendingRow prepare(int row, UserImportRow record, Set<String> existingEmails,
+                               Map<String, ImportedUser> importedUsers, ImportReport report) {
+        if (record.getEmail() != null) {
+            record.setEmail(record.getEmail().toLowerCase().trim());
+        }
+
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            report.failed(row, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        if (existingEmails.contains(record.getEmail())) {
+            report.duplicate();
+            return null;
+        }
+
+        Long countryId = null;
+        if (record.hasAddress()) {
+            Optional<Long> country = countryCache.findIdByName(record.getCountry());
+            if (country.isEmpty()) {
+                report.failed(row, "Unknown country: " + record.getCountry());
+                return null;
+            }
+            countryId = country.get();
+        }
+
+        ImportedUser user = importedUsers.get(record.getEmail());
+        boolean newUser = user == null;
+        if (newUser) {
+            user = new ImportedUser();
+            importedUsers.put(record.getEmail(), user);
+        } else if (user.failed) {
+            report.failed(row, "User was not imported: " + record.getEmail());
+            return null;
+        }
+
+        // The same key the single-address path checks with findByUserIdAndAddressLine1AndCityAndStateAndPostalCode
+        if (record.hasAddress() && !user.addressKeys.add(new AddressKey(record.getAddressLine1(),
+                record.getCity(), record.getState(), record.getPostalCode()))) {
+            report.duplicate();
+            return null;
+        }
+
+        if (!newUser && !record.hasAddress()) {
+            report.duplicate();
+            return null;
+        }
+
+        return new PendingRow(row, record, user, newUser, countryId);
+    }
+
+    private void flush(List<PendingRow> chunk, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            report.imported(chunk.size());
+        } catch (DataAccessException ex) {
+            log.warn("User import chunk failed", ex);
+            chunk.forEach(pending -> {
+                if (pending.newUser()) {
+                    pending.user().id = null;
+                    pending.user().failed = true;
+                }
+                report.failed(pending.row(), "Chunk rolled back: " + ex.getMostSpecificCause().getMessage());
+            });
+        }
+
+        chunk.clear();
+    }
+
+    private void insert(List<PendingRow> chunk) {
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<PendingRow> newUsers = chunk.stream().filter(PendingRow::newUser).toList();
+        if (!newUsers.isEmpty()) {
+            // IDENTITY keys stay, as seed data relies on them; the driver returns them for the whole batch
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_USER, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(@NonNull PreparedStatement statement, int i) throws SQLException {
+                            UserImportRow record = newUsers.get(i).record();
+                            statement.setString(1, record.getEmail());
+                            statement.setString(2, record.getRole().name());
+                            statement.setString(3, record.getLocale());
+                            statement.setBoolean(4, false);
+                            statement.setString(5, record.getFirstName());
+                            statement.setString(6, record.getLastName());
+                            statement.setString(7, record.getTelephone());
+                            statement.setString(8, record.getAvatar());
+                            statement.setTimestamp(9, now);
+                            statement.setTimestamp(10, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return newUsers.size();
+                        }
+                    }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < newUsers.size(); i++) {
+                newUsers.get(i).user().id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            }
+        }
+
+        List<Object[]> addresses = new ArrayList<>();
+        for (PendingRow pending : chunk) {
+            UserImportRow record = pending.record();
+            if (record.hasAddress()) {
+                addresses.add(new Object[]{pending.user().id, record.getAddressType().name(),
+                        record.getAddressLine1(), record.getAddressLine2(), record.getCity(), record.getState(),
+                        pending.countryId(), record.getPostalCode(), now, now});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ADDRESS, addresses);
+    }
+
+    private record PendingRow(int row, UserImportRow record, ImportedUser user, boolean newUser, Long countryId) {
+    }
+
+    private record AddressKey(String addressLine1, String city, String state, String postalCode) {
+    }
+
+    /**
+     * A user created by this import; the id is set once its chunk has been inserted.
+     */
+    private static class ImportedUser {
+
+        private final Set<AddressKey> addressKeys = new HashSet<>();
+        private Long id;
+        private boolean failed;
+    }
+}
@@ -3,12 +3,14 @@ package com.dallasdresses.services;
 import com.dallasdresses.dtos.request.UserCreateRequest;
 import com.dallasdresses.dtos.request.UserUpdateRequest;
 import com.dallasdresses.dtos.response.UserDto;
+import com.dallasdresses.pagination.CursorPage;
 
 import java.util.List;
 
 public interface UserService {
 
     List<UserDto> getAllUsers();
+    CursorPage<UserDto> getUsersPage(String cursor, Integer limit);
     UserDto getUserById(Long id);
     UserDto getUserByEmail(String email);
     UserDto updateUser(UserUpdateRequest request);
@@ -7,14 +7,16 @@ import com.dallasdresses.dtos.request.UserCreateRequest;
 import com.dallasdresses.dtos.request.UserUpdateRequest;
 import com.dallasdresses.dtos.response.UserDto;
 import com.dallasdresses.entities.Address;
-import com.dallasdresses.entities.Country;
 import com.dallasdresses.entities.User;
 import com.dallasdresses.exceptions.DuplicateEntityException;
 import com.dallasdresses.exceptions.EntityNotFoundException;
 import com.dallasdresses.exceptions.InvalidEntityException;
-import com.dallasdresses.repositories.CountryRepository;
+import com.dallasdresses.pagination.CursorPage;
+import com.dallasdresses.pagination.KeysetCursor;
 import com.dallasdresses.repositories.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,16 +31,19 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserToUserDtoConverter userDtoConverter;
     private final AddressService addressService;
-    private final CountryRepository countryRepository;
+
+    @Value("${app.users.page-size.default:24}")
+    private int defaultPageSize = 24;
+
+    @Value("${app.users.page-size.max:100}")
+    private int maxPageSize = 100;
 
     public UserServiceImpl(UserRepository userRepository,
                            UserToUserDtoConverter userDtoConverter,
-                           AddressServiceImpl addressService,
-                           CountryRepository countryRepository) {
+                           AddressServiceImpl addressService) {
         this.userRepository = userRepository;
         this.userDtoConverter = userDtoConverter;
         this.addressService = addressService;
-        this.countryRepository = countryRepository;
     }
 
     @Override
@@ -48,6 +53,34 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<UserDto> getUsersPage(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+
+        // Fetch one extra row to find out whether another page exists without counting
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<User> users = cursor == null || cursor.isBlank()
+                ? userRepository.findFirstPage(fetchLimit)
+                : userRepository.findPageAfter(KeysetCursor.decode(cursor).id(), fetchLimit);
+
+        boolean hasMore = users.size() > pageSize;
+        List<User> page = hasMore ? users.subList(0, pageSize) : users;
+
+        if (!page.isEmpty()) {
+            // Initializes the collections of the users already in the persistence context
+            List<Long> ids = page.stream().map(User::getId).toList();
+            userRepository.fetchAddresses(ids);
+            userRepository.fetchCredentials(ids);
+        }
+
+        return CursorPage.<UserDto>builder()
+                .items(page.stream().map(userDtoConverter::convert).toList())
+                .nextCursor(hasMore ? KeysetCursor.of(page.get(page.size() - 1).getId()).encode() : null)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
     @Override
     public UserDto getUserById(Long id) {
         User user = userRepository.findByIdWithAddresses(id)
@@ -96,20 +129,15 @@ public class UserServiceImpl implements UserService {
         if (request.getAddresses() != null && !request.getAddresses().isEmpty()) {
             request.getAddresses().forEach(addressRequest -> {
 
-                Country country = Country.builder().name(addressRequest.getCountry()).build();
-                Optional<Country> optCountry = countryRepository.findByNameIgnoreCase(addressRequest.getCountry());
-
-                if (optCountry.isPresent()) {
-                    country = optCountry.get();
-                }
-
+                // The address service resolves the country name
                 AddressCreateRequest createRequest = AddressCreateRequest.builder()
                         .userId(savedUser.getId())
                         .addressType(addressRequest.getAddressType())
                         .addressLine1(addressRequest.getAddressLine1())
                         .addressLine2(addressRequest.getAddressLine2())
                         .city(addressRequest.getCity())
-                        .country(country.getName())
+                        .state(addressRequest.getState())
+                        .country(addressRequest.getCountry())
                         .postalCode(addressRequest.getPostalCode())
                         .build();
 
@@ -235,4 +263,19 @@ public class UserServiceImpl implements UserService {
             }
         }
     }
+
+    /**
+     * Falls back to the configured default and caps the page size at the configured maximum.
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+
+        if (limit < 1) {
+            throw new InvalidEntityException("limit must be greater than zero");
+        }
+
+        return Math.min(limit, maxPageSize);
+    }
 }
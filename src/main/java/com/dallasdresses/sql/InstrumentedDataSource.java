@@ -0,0 +1,166 @@
+package com.dallasdresses.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts and times every statement run on the pool's connections, whether Hibernate or a
+ * {@code JdbcTemplate} runs it. A statement counts when it is prepared, and its execute calls are
+ * timed. Work on a thread with a {@link SqlRequestStats} tracker open is reported there; the rest,
+ * such as the scheduled flushes and the order writer, is recorded per thread pool as background work.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<String, BackgroundMeters> backgroundMeters = new ConcurrentHashMap<>();
+
+    public InstrumentedDataSource(DataSource targetDataSource, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private void statementPrepared() {
+        if (!SqlRequestStats.statementPrepared()) {
+            BackgroundMeters meters = backgroundMeters();
+            if (meters != null) {
+                meters.statements().increment();
+            }
+        }
+    }
+
+    private void jdbcExecuted(long nanos) {
+        if (!SqlRequestStats.jdbcExecuted(nanos)) {
+            BackgroundMeters meters = backgroundMeters();
+            if (meters != null) {
+                meters.jdbcTime().record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private BackgroundMeters backgroundMeters() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return null;
+        }
+        return backgroundMeters.computeIfAbsent(threadPool(Thread.currentThread().getName()), pool ->
+                new BackgroundMeters(
+                        Counter.builder("sql.background.statements")
+                                .description("SQL statements prepared outside a tracked request")
+                                .tag("thread", pool)
+                                .register(registry),
+                        Timer.builder("sql.background.jdbc.time")
+                                .description("Time spent executing JDBC statements outside a tracked request")
+                                .tag("thread", pool)
+                                .register(registry)));
+    }
+
+    // Pool threads are numbered, so "scheduling-1" and "scheduling-2" count as one
+    static String threadPool(String threadName) {
+        int end = threadName.length();
+        while (end > 0 && Character.isDigit(threadName.charAt(end - 1))) {
+            end--;
+        }
+        while (end > 0 && threadName.charAt(end - 1) == '-') {
+            end--;
+        }
+        return end == 0 ? "unnamed" : threadName.substring(0, end);
+    }
+
+    private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        // Callers key statements and connections by the proxy, so identity has to hold for it
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> {
+                try {
+                    yield method.invoke(target, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+            }
+        };
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, proxy, method, args);
+            return switch (method.getName()) {
+                case "createStatement", "prepareStatement", "prepareCall" -> {
+                    statementPrepared();
+                    yield Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{method.getReturnType()},
+                            new StatementHandler((Statement) result, (Connection) proxy));
+                }
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+
+        private StatementHandler(Statement target, Connection connection) {
+            this.target = target;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }
+            if (!method.getName().startsWith("execute")) {
+                return InstrumentedDataSource.invoke(target, proxy, method, args);
+            }
+
+            long startedAt = System.nanoTime();
+            try {
+                return InstrumentedDataSource.invoke(target, proxy, method, args);
+            } finally {
+                jdbcExecuted(System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    private record BackgroundMeters(Counter statements, Timer jdbcTime) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.dallasdresses.sql;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SQL work done while a request is being tracked. The JDBC and Hibernate hooks report into the
+ * tracker open on the current thread. A request's tracker can be carried to the threads it hands
+ * work to with {@link #propagate(Supplier)} or {@link #attach(Tracker)}, so that work counts too;
+ * statements on threads with no open tracker are recorded by {@link InstrumentedDataSource} as
+ * background work.
+ */
+public final class SqlRequestStats {
+
+    /**
+     * Request attribute holding the request's tracker, so an async dispatch and the async thread
+     * report into the same one.
+     */
+    public static final String TRACKER_ATTRIBUTE = SqlRequestStats.class.getName() + ".TRACKER";
+
+    private static final ThreadLocal<Tracker> CURRENT = new ThreadLocal<>();
+
+    private SqlRequestStats() {
+    }
+
+    public static Tracker begin() {
+        Tracker tracker = new Tracker();
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    /**
+     * Stops tracking on this thread and returns everything counted by its tracker so far.
+     */
+    public static Snapshot end() {
+        Tracker tracker = CURRENT.get();
+        CURRENT.remove();
+        return tracker == null ? new Snapshot(0, 0, 0) : tracker.snapshot();
+    }
+
+    /**
+     * Makes {@code tracker} the one this thread reports into, or stops tracking when it is
+     * {@code null}, and returns the tracker it replaces.
+     */
+    public static Tracker attach(Tracker tracker) {
+        Tracker previous = CURRENT.get();
+        if (tracker == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tracker);
+        }
+        return previous;
+    }
+
+    /**
+     * Wraps {@code work} so that it reports into the tracker open on this thread now, whichever
+     * thread it later runs on.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        Tracker tracker = CURRENT.get();
+        if (tracker == null) {
+            return work;
+        }
+        return () -> {
+            Tracker previous = attach(tracker);
+            try {
+                return work.get();
+            } finally {
+                attach(previous);
+            }
+        };
+    }
+
+    static boolean statementPrepared() {
+        Tracker tracker = CURRENT.get();
+        if (tracker == null) {
+            return false;
+        }
+        tracker.statements.increment();
+        return true;
+    }
+
+    static boolean jdbcExecuted(long nanos) {
+        Tracker tracker = CURRENT.get();
+        if (tracker == null) {
+            return false;
+        }
+        tracker.jdbcNanos.add(nanos);
+        return true;
+    }
+
+    static void entityLoaded() {
+        Tracker tracker = CURRENT.get();
+        if (tracker != null) {
+            tracker.entityLoads.increment();
+        }
+    }
+
+    public record Snapshot(long statements, long jdbcNanos, long entityLoads) {
+    }
+
+    /**
+     * The counters of one request. Threads the request hands work to add to them concurrently.
+     */
+    public static final class Tracker {
+
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder jdbcNanos = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+
+        private Tracker() {
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(statements.sum(), jdbcNanos.sum(), entityLoads.sum());
+        }
+    }
+}
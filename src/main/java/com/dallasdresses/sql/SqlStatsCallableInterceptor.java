@@ -0,0 +1,26 @@
+package com.dallasdresses.sql;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the request's tracker to the thread an async handler, such as the streamed catalog
+ * export, runs on. The filter records the request on the async dispatch that follows.
+ */
+public class SqlStatsCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task) {
+        SqlRequestStats.attach((SqlRequestStats.Tracker) request.getAttribute(
+                SqlRequestStats.TRACKER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Override
+    public <T> void postProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task, Object concurrentResult) {
+        SqlRequestStats.attach(null);
+    }
+}
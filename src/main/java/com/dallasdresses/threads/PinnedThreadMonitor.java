@@ -0,0 +1,103 @@
+package com.dallasdresses.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches for virtual threads that stay pinned to their carrier, through the JDK's own
+ * {@code jdk.VirtualThreadPinned} flight recorder event, while the app runs on virtual threads.
+ * Every pinning over the threshold is counted and timed; each distinct stack is logged once, which
+ * is usually enough to find the monitor or native frame that caused it.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 16;
+    private static final int MAX_LOGGED_STACKS = 1_000;
+
+    private final Counter pinnings;
+    private final Timer pinnedTime;
+    private final Set<String> loggedStacks = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.threads.pinning-threshold:20ms}")
+    private Duration threshold = Duration.ofMillis(20);
+
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry) {
+        this.pinnings = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than the threshold")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder("jvm.threads.virtual.pinned.time")
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {}", threshold);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnings.increment();
+        pinnedTime.record(event.getDuration());
+
+        String stack = format(event.getStackTrace());
+        if (loggedStacks.size() < MAX_LOGGED_STACKS && loggedStacks.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms at:{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " <no stack trace>";
+        }
+
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(PinnedThreadMonitor::format)
+                .collect(Collectors.joining(""));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return System.lineSeparator() + "\tat " + frame.getMethod().getType().getName() + "."
+                + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,173 @@
+package com.dallasdresses.benchmarks;
+
+import com.dallasdresses.cache.CountryCache;
+import com.dallasdresses.converters.*;
+import com.dallasdresses.dtos.projection.ItemRow;
+import com.dallasdresses.entities.*;
+import com.dallasdresses.entities.enums.AddressType;
+import com.dallasdresses.entities.enums.DiscountType;
+import com.dallasdresses.entities.enums.DressSize;
+import com.dallasdresses.entities.enums.UserRole;
+import com.dallasdresses.repositories.CountryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Throughput and allocation of the entity-to-DTO converters that sit on every read path. Each
+ * invocation converts one catalog page worth of objects, so scores are per converted object.
+ * The item graphs mirror the catalog: a parent link, three categories and four images per item.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec}; the gc profiler is on by default and
+ * {@code gc.alloc.rate.norm} is the figure to compare between runs. Results are written to
+ * {@code target/jmh-result.json}. Pass {@code -Djmh.include=ConverterBenchmark.item} to run a subset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private static final int PAGE_SIZE = 24;
+
+    private List<Item> items;
+    private List<ItemRow> itemRows;
+    private List<Category> categories;
+    private List<User> users;
+
+    private ItemToItemDtoConverter itemDtoConverter;
+    private ItemRowToItemDtoConverter itemRowDtoConverter;
+    private CategoryToCategoryDtoConverter categoryDtoConverter;
+    private UserToUserDtoConverter userDtoConverter;
+
+    @Setup
+    public void setUp() {
+        List<Country> countries = List.of(
+                Country.builder().id(1L).name("USA").build(),
+                Country.builder().id(2L).name("Canada").build());
+        CountryRepository countryRepository = mock(CountryRepository.class);
+        when(countryRepository.findAll()).thenReturn(countries);
+        CountryCache countryCache = new CountryCache(countryRepository, new SimpleMeterRegistry());
+        countryCache.refresh();
+
+        categoryDtoConverter = new CategoryToCategoryDtoConverter();
+        itemDtoConverter = new ItemToItemDtoConverter(categoryDtoConverter, new ItemImageToItemImageDtoConverter());
+        itemRowDtoConverter = new ItemRowToItemDtoConverter();
+        userDtoConverter = new UserToUserDtoConverter(new AddressToAddressDtoConverter(countryCache));
+
+        categories = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) {
+            categories.add(Category.builder().id(id).name("Category " + id).slug("category-" + id).build());
+        }
+
+        Timestamp createdAt = Timestamp.valueOf("2025-01-01 10:00:00");
+        Item parent = Item.builder().id(1_000L).name("Parent").price(new BigDecimal("99.99")).build();
+        items = new ArrayList<>();
+        itemRows = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Item item = Item.builder()
+                    .id(id)
+                    .name("Evening Dress " + id)
+                    .description("A flowing floor-length evening dress in soft chiffon, number " + id)
+                    .color("Color " + id % 5)
+                    .size(DressSize.values()[(int) (id % DressSize.values().length)])
+                    .stock((int) (id * 3))
+                    .price(new BigDecimal("89.99").add(BigDecimal.valueOf(id)))
+                    .discountType(id % 2 == 0 ? DiscountType.PERCENTAGE : null)
+                    .discountValue(id % 2 == 0 ? 15.0 : null)
+                    .parent(parent)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build();
+            for (int c = 0; c < 3; c++) {
+                item.getCategories().add(categories.get((int) ((id + c) % categories.size())));
+            }
+            for (int order = 0; order < 4; order++) {
+                item.getItemImages().add(ItemImage.builder()
+                        .id(id * 10 + order)
+                        .item(item)
+                        .url("https://cdn.example.com/items/" + id + "/" + order + ".jpg")
+                        .altText("Evening dress " + id + " view " + order)
+                        .displayOrder(order)
+                        .isPrimary(order == 0)
+                        .build());
+            }
+            items.add(item);
+            itemRows.add(new ItemRow(item.getId(), item.getName(), item.getDescription(), item.getColor(),
+                    item.getSize(), item.getStock(), item.getPrice(), item.getDiscountType(),
+                    item.getDiscountValue(), parent.getId(), createdAt, createdAt));
+        }
+
+        users = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            User user = User.builder()
+                    .id(id)
+                    .email("shopper" + id + "@xyzmail.com")
+                    .role(UserRole.USER)
+                    .locale("en")
+                    .emailVerified(true)
+                    .firstName("First" + id)
+                    .lastName("Last" + id)
+                    .telephone("555-010" + id % 10)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build();
+            for (int a = 0; a < 2; a++) {
+                user.getAddresses().add(Address.builder()
+                        .id(id * 10 + a)
+                        .user(user)
+                        .addressType(a == 0 ? AddressType.MAIN : AddressType.WORK)
+                        .addressLine1(id + " Elm Street")
+                        .city("Dallas")
+                        .state("TX")
+                        .country(countries.get(a))
+                        .postalCode("7520" + a)
+                        .createdAt(createdAt)
+                        .build());
+            }
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void itemToItemDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(itemDtoConverter.convert(item));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void itemRowToItemDto(Blackhole blackhole) {
+        for (ItemRow row : itemRows) {
+            blackhole.consume(itemRowDtoConverter.convert(row));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(12)
+    public void categoryToCategoryDto(Blackhole blackhole) {
+        for (Category category : categories) {
+            blackhole.consume(categoryDtoConverter.convert(category));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void userToUserDto(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(userDtoConverter.convert(user));
+        }
+    }
+}
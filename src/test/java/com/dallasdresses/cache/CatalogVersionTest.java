@@ -0,0 +1,44 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogVersionTest {
+
+    CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Test
+    @DisplayName("onItemChanged - Should change the items tag only")
+    void testOnItemChanged_ShouldChangeItemsEtagOnly() {
+        // Arrange
+        String itemsEtag = catalogVersion.itemsEtag();
+        String categoriesEtag = catalogVersion.categoriesEtag();
+
+        // Act
+        catalogVersion.onItemChanged(ItemChangedEvent.deleted(1L));
+
+        // Assert
+        assertNotEquals(itemsEtag, catalogVersion.itemsEtag());
+        assertEquals(categoriesEtag, catalogVersion.categoriesEtag());
+    }
+
+    @Test
+    @DisplayName("onCategoryChanged - Should change both tags")
+    void testOnCategoryChanged_ShouldChangeBothEtags() {
+        // Arrange
+        String itemsEtag = catalogVersion.itemsEtag();
+        String categoriesEtag = catalogVersion.categoriesEtag();
+
+        // Act
+        catalogVersion.onCategoryChanged(new CategoryChangedEvent(1L));
+
+        // Assert
+        assertNotEquals(itemsEtag, catalogVersion.itemsEtag());
+        assertNotEquals(categoriesEtag, catalogVersion.categoriesEtag());
+        assertTrue(catalogVersion.itemsEtag().startsWith("\"") && catalogVersion.itemsEtag().endsWith("\""));
+    }
+}
@@ -0,0 +1,110 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.entities.Category;
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.repositories.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCacheTest {
+
+    @Mock
+    CategoryRepository categoryRepository;
+
+    SimpleMeterRegistry meterRegistry;
+    CategoryCache categoryCache;
+
+    Category category1;
+    Category category2;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        categoryCache = new CategoryCache(categoryRepository, meterRegistry);
+
+        category1 = Category.builder().id(1L).name("Jackets").slug("jackets").build();
+        category2 = Category.builder().id(2L).name("Shirts").slug("shirts").build();
+    }
+
+    @Test
+    @DisplayName("findBySlug - Should load the snapshot once and serve lookups from memory")
+    void testFindBySlug_ShouldQueryRepositoryOnce_WhenCalledRepeatedly() {
+        // Arrange
+        when(categoryRepository.findAll()).thenReturn(List.of(category2, category1));
+
+        // Act
+        Optional<CategoryDto> jackets = categoryCache.findBySlug("jackets");
+        Optional<CategoryDto> shirts = categoryCache.findBySlug("shirts");
+        Optional<CategoryDto> missing = categoryCache.findBySlug("hats");
+
+        // Assert
+        assertTrue(jackets.isPresent());
+        assertEquals(1L, jackets.get().getId());
+        assertEquals("Shirts", shirts.orElseThrow().getName());
+        assertTrue(missing.isEmpty());
+        verify(categoryRepository, times(1)).findAll();
+        assertEquals(2.0, meterRegistry.get("catalog.category.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("catalog.category.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("findAll - Should return categories ordered by id")
+    void testFindAll_ShouldReturnCategoriesOrderedById() {
+        // Arrange
+        when(categoryRepository.findAll()).thenReturn(List.of(category2, category1));
+
+        // Act
+        List<CategoryDto> categories = categoryCache.findAll();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), categories.stream().map(CategoryDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("onCategoryChanged - Should rebuild the snapshot")
+    void testOnCategoryChanged_ShouldRebuildSnapshot() {
+        // Arrange
+        Category casual = Category.builder().id(3L).name("Casual").slug("casual").build();
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(category1))
+                .thenReturn(List.of(category1, casual));
+
+        // Act
+        categoryCache.warmUp();
+        Optional<CategoryDto> before = categoryCache.findBySlug("casual");
+        categoryCache.onCategoryChanged(new CategoryChangedEvent(3L));
+        Optional<CategoryDto> after = categoryCache.findBySlug("casual");
+
+        // Assert
+        assertTrue(before.isEmpty());
+        assertEquals(3L, after.orElseThrow().getId());
+        assertEquals(2.0, meterRegistry.get("catalog.category.cache.refreshes").counter().count());
+        assertEquals(2.0, meterRegistry.get("catalog.category.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("findById - Should hand out copies that do not alter the cache")
+    void testFindById_ShouldReturnDefensiveCopy() {
+        // Arrange
+        when(categoryRepository.findAll()).thenReturn(List.of(category1));
+
+        // Act
+        categoryCache.findById(1L).orElseThrow().setName("Changed");
+
+        // Assert
+        assertEquals("Jackets", categoryCache.findById(1L).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,80 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.repositories.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryItemIndexTest {
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @InjectMocks
+    CategoryItemIndex categoryItemIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findCategoryMemberships()).thenReturn(List.of(
+                new Object[]{1L, 5L},
+                new Object[]{1L, 2L},
+                new Object[]{1L, 9L},
+                new Object[]{2L, 5L}));
+        categoryItemIndex.warmUp();
+    }
+
+    @Test
+    @DisplayName("findItemIds - Should page through item ids in ascending order")
+    void testFindItemIds_ShouldSeekPastGivenId() {
+        // Act & Assert
+        assertEquals(List.of(2L, 5L), categoryItemIndex.findItemIds(1L, null, 2));
+        assertEquals(List.of(9L), categoryItemIndex.findItemIds(1L, 5L, 2));
+        assertEquals(List.of(5L, 9L), categoryItemIndex.findItemIds(1L, 3L, 5));
+        assertEquals(List.of(), categoryItemIndex.findItemIds(3L, null, 5));
+        assertEquals(3, categoryItemIndex.countItems(1L));
+    }
+
+    @Test
+    @DisplayName("onItemChanged - Should move an updated item between categories")
+    void testOnItemChanged_ShouldMoveItem_WhenCategoriesChange() {
+        // Arrange
+        ItemDto item = ItemDto.builder()
+                .id(5L)
+                .categories(Set.of(CategoryDto.builder().id(3L).build()))
+                .build();
+
+        // Act
+        categoryItemIndex.onItemChanged(ItemChangedEvent.updated(item));
+
+        // Assert
+        assertEquals(List.of(2L, 9L), categoryItemIndex.findItemIds(1L, null, 10));
+        assertEquals(0, categoryItemIndex.countItems(2L));
+        assertEquals(List.of(5L), categoryItemIndex.findItemIds(3L, null, 10));
+        verify(itemRepository, times(1)).findCategoryMemberships();
+    }
+
+    @Test
+    @DisplayName("onItemChanged - Should drop a deleted item from every category")
+    void testOnItemChanged_ShouldRemoveItem_WhenItemDeleted() {
+        // Act
+        categoryItemIndex.onItemChanged(ItemChangedEvent.deleted(5L));
+
+        // Assert
+        assertEquals(List.of(2L, 9L), categoryItemIndex.findItemIds(1L, null, 10));
+        assertEquals(0, categoryItemIndex.countItems(2L));
+    }
+}
@@ -0,0 +1,71 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.entities.Country;
+import com.dallasdresses.repositories.CountryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CountryCacheTest {
+
+    @Mock
+    CountryRepository countryRepository;
+
+    SimpleMeterRegistry meterRegistry;
+    CountryCache countryCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        countryCache = new CountryCache(countryRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("findIdByName - Should match names regardless of case and surrounding spaces")
+    void testFindIdByName_ShouldIgnoreCase_WhenNameDiffersInCase() {
+        // Arrange
+        when(countryRepository.findAll()).thenReturn(List.of(
+                Country.builder().id(2L).name("INDIA").build(),
+                Country.builder().id(1L).name("USA").build()));
+
+        // Act
+        Optional<Long> usa = countryCache.findIdByName(" usa ");
+        Optional<Long> india = countryCache.findIdByName("India");
+        Optional<Long> missing = countryCache.findIdByName("Atlantis");
+
+        // Assert
+        assertEquals(Optional.of(1L), usa);
+        assertEquals(Optional.of(2L), india);
+        assertTrue(missing.isEmpty());
+        verify(countryRepository, times(1)).findAll();
+        assertEquals(1.0, meterRegistry.get("reference.country.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("findNameById - Should return the stored name without querying again")
+    void testFindNameById_ShouldServeFromMemory_WhenWarmedUp() {
+        // Arrange
+        when(countryRepository.findAll()).thenReturn(List.of(Country.builder().id(3L).name("SPAIN").build()));
+        countryCache.warmUp();
+
+        // Act
+        Optional<String> spain = countryCache.findNameById(3L);
+        Optional<String> missing = countryCache.findNameById(99L);
+
+        // Assert
+        assertEquals(Optional.of("SPAIN"), spain);
+        assertTrue(missing.isEmpty());
+        verify(countryRepository, times(1)).findAll();
+    }
+}
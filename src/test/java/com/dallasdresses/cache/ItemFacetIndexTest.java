@@ -0,0 +1,233 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.projection.ItemFacetRow;
+import com.dallasdresses.dtos.request.ItemSort;
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.entities.enums.DiscountType;
+import com.dallasdresses.entities.enums.DressSize;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.repositories.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemFacetIndexTest {
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @InjectMocks
+    ItemFacetIndex itemFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findAllFacetRows()).thenReturn(List.of(
+                new ItemFacetRow(1L, DressSize.SM, "Red", new BigDecimal("20.00"), null, null),
+                new ItemFacetRow(2L, DressSize.MD, "red", new BigDecimal("45.00"), DiscountType.PERCENTAGE, 10.0),
+                new ItemFacetRow(3L, DressSize.MD, "Blue", new BigDecimal("80.00"), DiscountType.NONE, 0.0),
+                new ItemFacetRow(4L, DressSize.LG, "Blue", new BigDecimal("30.00"), DiscountType.FIXED, 5.0)));
+        when(itemRepository.findCategoryMemberships()).thenReturn(List.of(
+                new Object[]{1L, 1L},
+                new Object[]{1L, 2L},
+                new Object[]{2L, 3L},
+                new Object[]{2L, 4L}));
+        itemFacetIndex.warmUp();
+    }
+
+    @Test
+    @DisplayName("filter - Should intersect facets and count each facet without its own filter")
+    void testFilter_ShouldReturnMatchesAndDisjunctiveCounts() {
+        // Act
+        ItemFacetIndex.Result result = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                Set.of(DressSize.MD), Set.of("red"), null, null, null, null, null, 10));
+
+        // Assert
+        assertEquals(List.of(2L), result.itemIds());
+        assertEquals(1, result.total());
+        assertFalse(result.hasMore());
+        assertEquals(Map.of(DressSize.SM, 1, DressSize.MD, 1), result.sizeCounts());
+        assertEquals(Map.of("blue", 1, "red", 1), result.colorCounts());
+        assertEquals(Map.of(1L, 1), result.categoryCounts());
+        assertEquals(1, result.discountedCount());
+        assertEquals(0, result.regularCount());
+    }
+
+    @Test
+    @DisplayName("filter - Should apply price band and discount flag and page after the cursor")
+    void testFilter_ShouldApplyPriceAndDiscountAndPage() {
+        // Act
+        ItemFacetIndex.Result first = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, null, null, 2000L, 5000L, true, null, 1));
+        ItemFacetIndex.Result second = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, null, null, 2000L, 5000L, true, first.itemIds().get(0), 1));
+
+        // Assert
+        assertEquals(List.of(2L), first.itemIds());
+        assertTrue(first.hasMore());
+        assertEquals(2, first.total());
+        assertEquals(List.of(4L), second.itemIds());
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    @DisplayName("filter - Should page by effective price and keep the order current on updates")
+    void testFilter_ShouldSortByEffectivePrice() {
+        // Act
+        ItemFacetIndex.Result first = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, null, null, null, null, null, null, 2, ItemSort.PRICE_ASC, null));
+        ItemFacetIndex.Result second = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, null, null, null, null, null, 4L, 2, ItemSort.PRICE_ASC, first.lastPriceCents()));
+
+        itemFacetIndex.onItemChanged(ItemChangedEvent.updated(ItemDto.builder()
+                .id(3L).size(DressSize.MD).color("Blue").price(new BigDecimal("12.00"))
+                .discountType(DiscountType.FIXED).discountValue(2.0)
+                .categories(Set.of())
+                .build()));
+        ItemFacetIndex.Result descending = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, null, null, null, null, null, null, 10, ItemSort.PRICE_DESC, null));
+
+        // Assert
+        assertEquals(List.of(1L, 4L), first.itemIds());
+        assertTrue(first.hasMore());
+        assertEquals(2500L, first.lastPriceCents());
+        assertEquals(List.of(2L, 3L), second.itemIds());
+        assertFalse(second.hasMore());
+        assertEquals(List.of(2L, 4L, 1L, 3L), descending.itemIds());
+    }
+
+    @Test
+    @DisplayName("findByPrice - Should page a category or the catalog by effective price")
+    void testFindByPrice_ShouldPageByEffectivePrice() {
+        // Act
+        ItemFacetIndex.PricePage first = itemFacetIndex.findByPrice(null, ItemSort.PRICE_ASC, null, null, 2);
+        ItemFacetIndex.PricePage second = itemFacetIndex.findByPrice(null, ItemSort.PRICE_ASC,
+                first.lastPriceCents(), first.itemIds().get(1), 2);
+        ItemFacetIndex.PricePage category = itemFacetIndex.findByPrice(2L, ItemSort.PRICE_DESC, null, null, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 4L), first.itemIds());
+        assertTrue(first.hasMore());
+        assertEquals(2500L, first.lastPriceCents());
+        assertEquals(List.of(2L, 3L), second.itemIds());
+        assertFalse(second.hasMore());
+        assertEquals(List.of(3L, 4L), category.itemIds());
+        assertEquals(List.of(), itemFacetIndex.findByPrice(9L, ItemSort.PRICE_ASC, null, null, 10).itemIds());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - Should reindex updated, created and deleted items")
+    void testOnItemChanged_ShouldKeepIndexCurrent() {
+        // Arrange
+        ItemDto updated = ItemDto.builder()
+                .id(1L).size(DressSize.LG).color("Green").price(new BigDecimal("20.00"))
+                .categories(Set.of(CategoryDto.builder().id(2L).build()))
+                .build();
+        ItemDto created = ItemDto.builder()
+                .id(5L).size(DressSize.XS).color("Green").price(new BigDecimal("15.00"))
+                .categories(Set.of())
+                .build();
+
+        // Act
+        itemFacetIndex.onItemChanged(ItemChangedEvent.updated(updated));
+        itemFacetIndex.onItemChanged(ItemChangedEvent.created(created));
+        itemFacetIndex.onItemChanged(ItemChangedEvent.deleted(3L));
+        ItemFacetIndex.Result result = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, Set.of("green"), null, null, null, null, null, 10));
+
+        // Assert
+        assertEquals(List.of(1L, 5L), result.itemIds());
+        assertEquals(Map.of(2L, 1), result.categoryCounts());
+        assertEquals(Map.of("blue", 1, "green", 2, "red", 1), result.colorCounts());
+        verify(itemRepository, times(1)).findAllFacetRows();
+    }
+
+    @Test
+    @DisplayName("onItemChanged - Should page created items in id order - When they commit out of id order")
+    void testOnItemChanged_ShouldKeepIdOrder_WhenCreatesCommitOutOfOrder() {
+        // Arrange
+        ItemDto higher = ItemDto.builder()
+                .id(7L).size(DressSize.XS).color("Green").price(new BigDecimal("15.00"))
+                .categories(Set.of(CategoryDto.builder().id(2L).build()))
+                .build();
+        ItemDto lower = ItemDto.builder()
+                .id(6L).size(DressSize.XS).color("Yellow").price(new BigDecimal("25.00"))
+                .categories(Set.of())
+                .build();
+
+        // Act
+        itemFacetIndex.onItemChanged(ItemChangedEvent.created(higher));
+        itemFacetIndex.onItemChanged(ItemChangedEvent.created(lower));
+
+        List<Long> paged = new ArrayList<>();
+        Long afterId = null;
+        ItemFacetIndex.Result page;
+        do {
+            page = itemFacetIndex.filter(new ItemFacetIndex.Query(null, null, null, null, null, null, afterId, 2));
+            paged.addAll(page.itemIds());
+            afterId = page.itemIds().getLast();
+        } while (page.hasMore());
+        ItemFacetIndex.Result yellow = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, Set.of("yellow"), null, null, null, null, null, 10));
+        ItemFacetIndex.Result category = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, null, Set.of(2L), null, null, null, null, 10));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 6L, 7L), paged);
+        assertEquals(List.of(6L), yellow.itemIds());
+        assertEquals(List.of(3L, 4L, 7L), category.itemIds());
+    }
+
+    @Test
+    @DisplayName("findByPrice - Should break price ties by id - When the tied items were created out of id order")
+    void testFindByPrice_ShouldBreakTiesById_WhenCreatesCommitOutOfOrder() {
+        // Arrange: both cost the same as item 1
+        for (long id : new long[]{7L, 6L}) {
+            itemFacetIndex.onItemChanged(ItemChangedEvent.created(ItemDto.builder()
+                    .id(id).size(DressSize.XS).color("Green").price(new BigDecimal("20.00"))
+                    .categories(Set.of())
+                    .build()));
+        }
+
+        // Act
+        List<Long> paged = new ArrayList<>();
+        ItemFacetIndex.PricePage page = itemFacetIndex.findByPrice(null, ItemSort.PRICE_ASC, null, null, 2);
+        paged.addAll(page.itemIds());
+        while (page.hasMore()) {
+            page = itemFacetIndex.findByPrice(null, ItemSort.PRICE_ASC, page.lastPriceCents(),
+                    page.itemIds().getLast(), 2);
+            paged.addAll(page.itemIds());
+        }
+        ItemFacetIndex.PricePage descending = itemFacetIndex.findByPrice(null, ItemSort.PRICE_DESC, 2000L, 7L, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 6L, 7L, 4L, 2L, 3L), paged);
+        assertEquals(List.of(6L, 1L), descending.itemIds());
+    }
+
+    @Test
+    @DisplayName("filter - Should match nothing - When category filter is empty")
+    void testFilter_ShouldMatchNothing_WhenCategoryFilterIsEmpty() {
+        // Act
+        ItemFacetIndex.Result result = itemFacetIndex.filter(new ItemFacetIndex.Query(
+                null, null, Set.of(), null, null, null, null, 10));
+
+        // Assert
+        assertTrue(result.itemIds().isEmpty());
+        assertEquals(0, result.total());
+    }
+}
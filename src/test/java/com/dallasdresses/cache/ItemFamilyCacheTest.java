@@ -0,0 +1,82 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.events.ItemChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemFamilyCacheTest {
+
+    ItemFamilyCache itemFamilyCache;
+    ItemFamilyCache.Family family;
+
+    @BeforeEach
+    void setUp() {
+        itemFamilyCache = new ItemFamilyCache();
+        family = ItemFamilyCache.Family.of(List.of(
+                new Object[]{10L, null},
+                new Object[]{12L, 10L},
+                new Object[]{11L, 10L},
+                new Object[]{13L, 11L}));
+    }
+
+    @Test
+    @DisplayName("Family.of - Should find the root and order each member's children by id")
+    void testFamilyOf_ShouldLinkChildrenInIdOrder() {
+        // Assert
+        assertEquals(10L, family.rootId());
+        assertEquals(Set.of(10L, 11L, 12L, 13L), family.memberIds());
+        assertEquals(List.of(11L, 12L), family.childrenOf(10L));
+        assertEquals(List.of(13L), family.childrenOf(11L));
+        assertEquals(List.of(), family.childrenOf(13L));
+    }
+
+    @Test
+    @DisplayName("get - Should find a cached family from any of its members")
+    void testGet_ShouldReturnFamily_ForEveryMember() {
+        // Act
+        itemFamilyCache.put(family, itemFamilyCache.stamp());
+
+        // Assert
+        assertSame(family, itemFamilyCache.get(10L));
+        assertSame(family, itemFamilyCache.get(13L));
+        assertNull(itemFamilyCache.get(99L));
+    }
+
+    @Test
+    @DisplayName("onItemChanged - Should drop the family of the item and of its new parent")
+    void testOnItemChanged_ShouldEvictOldAndNewFamily() {
+        // Arrange
+        ItemFamilyCache.Family other = ItemFamilyCache.Family.of(List.<Object[]>of(new Object[]{20L, null}));
+        itemFamilyCache.put(family, itemFamilyCache.stamp());
+        itemFamilyCache.put(other, itemFamilyCache.stamp());
+
+        // Act: item 13 moves from family 10 under item 20
+        itemFamilyCache.onItemChanged(ItemChangedEvent.updated(ItemDto.builder().id(13L).parentId(20L).build()));
+
+        // Assert
+        assertNull(itemFamilyCache.get(10L));
+        assertNull(itemFamilyCache.get(11L));
+        assertNull(itemFamilyCache.get(20L));
+    }
+
+    @Test
+    @DisplayName("put - Should not store a family loaded before an invalidation")
+    void testPut_ShouldIgnoreStaleLoad() {
+        // Arrange
+        long stamp = itemFamilyCache.stamp();
+        itemFamilyCache.onItemChanged(ItemChangedEvent.deleted(13L));
+
+        // Act
+        itemFamilyCache.put(family, stamp);
+
+        // Assert
+        assertNull(itemFamilyCache.get(10L));
+    }
+}
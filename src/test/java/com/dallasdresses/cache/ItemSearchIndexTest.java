@@ -0,0 +1,84 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.projection.ItemTextRow;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.repositories.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    ItemRepository itemRepository;
+
+    ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, new SimpleMeterRegistry());
+
+        when(itemRepository.findAllTextRows()).thenReturn(List.of(
+                new ItemTextRow(1L, "Floral Summer Dress", "Light cotton dress for warm days."),
+                new ItemTextRow(2L, "Evening Gown", "Silk gown with a floral lace trim."),
+                new ItemTextRow(3L, "Denim Jacket", "Classic denim jacket.")));
+        itemSearchIndex.warmUp();
+    }
+
+    @Test
+    @DisplayName("search - Should rank name matches above description matches")
+    void testSearch_ShouldRankNameMatchesFirst() {
+        // Act
+        ItemSearchIndex.Hits hits = itemSearchIndex.search("floral", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), hits.itemIds());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    @DisplayName("search - Should match the last word as a prefix")
+    void testSearch_ShouldMatchPrefixOfLastWord() {
+        // Act & Assert
+        assertEquals(List.of(3L), itemSearchIndex.search("DEN", 0, 10).itemIds());
+        assertEquals(List.of(2L), itemSearchIndex.search("silk go", 0, 10).itemIds());
+        assertEquals(List.of(), itemSearchIndex.search("velvet", 0, 10).itemIds());
+    }
+
+    @Test
+    @DisplayName("search - Should page through ranked hits")
+    void testSearch_ShouldSkipOffset() {
+        // Act
+        ItemSearchIndex.Hits hits = itemSearchIndex.search("floral", 1, 10);
+
+        // Assert
+        assertEquals(List.of(2L), hits.itemIds());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - Should reindex updated items and drop deleted ones")
+    void testOnItemChanged_ShouldKeepIndexCurrent() {
+        // Act
+        itemSearchIndex.onItemChanged(ItemChangedEvent.updated(ItemDto.builder()
+                .id(3L).name("Velvet Jacket").description("Soft velvet.").build()));
+        itemSearchIndex.onItemChanged(ItemChangedEvent.deleted(1L));
+
+        // Assert
+        assertEquals(List.of(3L), itemSearchIndex.search("velvet", 0, 10).itemIds());
+        assertEquals(List.of(), itemSearchIndex.search("denim", 0, 10).itemIds());
+        assertEquals(List.of(2L), itemSearchIndex.search("floral", 0, 10).itemIds());
+        verify(itemRepository, times(1)).findAllTextRows();
+    }
+}
@@ -0,0 +1,97 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.dtos.projection.ItemSortRow;
+import com.dallasdresses.dtos.response.CategoryDto;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.repositories.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSortIndexTest {
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @InjectMocks
+    ItemSortIndex itemSortIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findAllSortRows()).thenReturn(List.of(
+                new ItemSortRow(1L, new Timestamp(1_000)),
+                new ItemSortRow(2L, new Timestamp(4_000)),
+                new ItemSortRow(3L, new Timestamp(2_000)),
+                new ItemSortRow(4L, new Timestamp(3_000)),
+                new ItemSortRow(5L, new Timestamp(3_000))));
+        when(itemRepository.findCategoryMemberships()).thenReturn(List.of(
+                new Object[]{1L, 1L},
+                new Object[]{1L, 2L},
+                new Object[]{1L, 3L},
+                new Object[]{2L, 4L}));
+        itemSortIndex.warmUp();
+    }
+
+    @Test
+    @DisplayName("findNewest - Should slice the catalog newest first with ties broken by id")
+    void testFindNewest_ShouldPageTheCatalog() {
+        // Act
+        List<ItemSortIndex.SortedItem> first = itemSortIndex.findNewest(null, null, null, 2);
+        List<ItemSortIndex.SortedItem> second = itemSortIndex.findNewest(null,
+                first.get(1).sortValue(), first.get(1).id(), 10);
+
+        // Assert
+        assertEquals(List.of(2L, 5L), ids(first));
+        assertEquals(4_000L, first.get(0).sortValue());
+        assertEquals(List.of(4L, 3L, 1L), ids(second));
+    }
+
+    @Test
+    @DisplayName("findNewest - Should list a category newest first")
+    void testFindNewest_ShouldPageACategory() {
+        // Act & Assert
+        assertEquals(List.of(2L, 3L), ids(itemSortIndex.findNewest(1L, null, null, 2)));
+        assertEquals(List.of(1L), ids(itemSortIndex.findNewest(1L, 2_000L, 3L, 2)));
+        assertEquals(List.of(), itemSortIndex.findNewest(9L, null, null, 2));
+    }
+
+    @Test
+    @DisplayName("onItemChanged - Should move updated items and drop deleted ones")
+    void testOnItemChanged_ShouldKeepOrderingsCurrent() {
+        // Arrange
+        ItemDto moved = ItemDto.builder()
+                .id(1L)
+                .price(new BigDecimal("5.00"))
+                .categories(Set.of(CategoryDto.builder().id(2L).build()))
+                .build();
+
+        // Act
+        itemSortIndex.onItemChanged(ItemChangedEvent.updated(moved));
+        itemSortIndex.onItemChanged(ItemChangedEvent.deleted(3L));
+
+        // Assert
+        assertEquals(List.of(2L), ids(itemSortIndex.findNewest(1L, null, null, 10)));
+        // The creation time is kept when the update does not carry one
+        assertEquals(List.of(4L, 1L), ids(itemSortIndex.findNewest(2L, null, null, 10)));
+        assertEquals(List.of(2L, 5L, 4L, 1L), ids(itemSortIndex.findNewest(null, null, null, 10)));
+        verify(itemRepository, times(1)).findAllSortRows();
+    }
+
+    private static List<Long> ids(List<ItemSortIndex.SortedItem> items) {
+        return items.stream().map(ItemSortIndex.SortedItem::id).toList();
+    }
+}
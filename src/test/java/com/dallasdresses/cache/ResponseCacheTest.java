@@ -0,0 +1,107 @@
+package com.dallasdresses.cache;
+
+import com.dallasdresses.cache.ResponseCache.Tag;
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseCacheTest {
+
+    @Mock
+    Clock clock;
+
+    ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(new SimpleMeterRegistry(), clock);
+        ReflectionTestUtils.setField(responseCache, "maxBytes", 100L);
+        ReflectionTestUtils.setField(responseCache, "maxEntryBytes", 60L);
+        ReflectionTestUtils.setField(responseCache, "ttl", Duration.ofSeconds(10));
+        lenient().when(clock.millis()).thenReturn(0L);
+    }
+
+    @Test
+    @DisplayName("get - Should only serve entries rendered at the current version")
+    void testGet_ShouldMiss_WhenVersionChanged() {
+        // Arrange
+        responseCache.put("/items", Tag.ITEMS, "\"v1\"", "application/json", new byte[10], new byte[5]);
+
+        // Act & Assert
+        assertTrue(responseCache.get("/items", "\"v1\"").isPresent());
+        assertTrue(responseCache.get("/items", "\"v2\"").isEmpty());
+        assertTrue(responseCache.get("/items", "\"v1\"").isEmpty());
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    @DisplayName("put - Should evict least recently used entries when over the byte budget")
+    void testPut_ShouldEvictLeastRecentlyUsed_WhenOverBudget() {
+        // Arrange
+        responseCache.put("a", Tag.ITEMS, "v", "application/json", new byte[30], new byte[10]);
+        responseCache.put("b", Tag.ITEMS, "v", "application/json", new byte[30], new byte[10]);
+        responseCache.get("a", "v");
+
+        // Act
+        responseCache.put("c", Tag.ITEMS, "v", "application/json", new byte[30], new byte[10]);
+
+        // Assert
+        assertTrue(responseCache.get("a", "v").isPresent());
+        assertTrue(responseCache.get("b", "v").isEmpty());
+        assertTrue(responseCache.get("c", "v").isPresent());
+        assertEquals(80, responseCache.size());
+    }
+
+    @Test
+    @DisplayName("put - Should skip responses larger than the entry limit")
+    void testPut_ShouldSkipOversizedResponse() {
+        // Act
+        responseCache.put("big", Tag.ITEMS, "v", "application/json", new byte[50], new byte[20]);
+
+        // Assert
+        assertTrue(responseCache.get("big", "v").isEmpty());
+    }
+
+    @Test
+    @DisplayName("get - Should drop entries older than the TTL")
+    void testGet_ShouldMiss_WhenExpired() {
+        // Arrange
+        responseCache.put("/items", Tag.ITEMS, "v", "application/json", new byte[10], new byte[5]);
+        when(clock.millis()).thenReturn(10_000L);
+
+        // Act & Assert
+        assertTrue(responseCache.get("/items", "v").isEmpty());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - Should keep category responses")
+    void testInvalidation_ShouldOnlyDropAffectedTags() {
+        // Arrange
+        responseCache.put("/items", Tag.ITEMS, "v", "application/json", new byte[10], new byte[5]);
+        responseCache.put("/categories", Tag.CATEGORIES, "v", "application/json", new byte[10], new byte[5]);
+
+        // Act
+        responseCache.onItemChanged(ItemChangedEvent.deleted(1L));
+
+        // Assert
+        assertTrue(responseCache.get("/items", "v").isEmpty());
+        assertTrue(responseCache.get("/categories", "v").isPresent());
+
+        responseCache.onCategoryChanged(new CategoryChangedEvent(1L));
+        assertTrue(responseCache.get("/categories", "v").isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package com.dallasdresses.filters;
+
+import com.dallasdresses.cache.CatalogVersion;
+import com.dallasdresses.cache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Catalog Response Cache Filter Tests")
+class CatalogResponseCacheFilterTest {
+
+    static final String FILTER_PATH = "/api/v1/items/filter";
+
+    ResponseCache responseCache;
+    CatalogResponseCacheFilter filter;
+    AtomicInteger rendered;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(new SimpleMeterRegistry());
+        filter = new CatalogResponseCacheFilter(responseCache, new CatalogVersion());
+        ReflectionTestUtils.setField(filter, "baseUrl", "/api/v1");
+        rendered = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should keep separate entries - When a value holds what looks like another parameter")
+    void testFilter_ShouldNotShareEntry_WhenValueEmbedsParameter() throws Exception {
+        // Arrange: ?colors=Red%26sizes%3DMD against ?colors=Red&sizes=MD
+        MockHttpServletRequest smuggled = new MockHttpServletRequest("GET", FILTER_PATH);
+        smuggled.addParameter("colors", "Red&sizes=MD");
+        MockHttpServletRequest genuine = new MockHttpServletRequest("GET", FILTER_PATH);
+        genuine.addParameter("colors", "Red");
+        genuine.addParameter("sizes", "MD");
+
+        // Act
+        MockHttpServletResponse first = perform(smuggled, "{\"data\":[]}");
+        MockHttpServletResponse second = perform(genuine, "{\"data\":[7]}");
+
+        // Assert
+        assertEquals(2, rendered.get());
+        assertEquals("{\"data\":[]}", first.getContentAsString());
+        assertEquals("{\"data\":[7]}", second.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should vary on Accept-Encoding - When the response is rendered and when it is replayed")
+    void testFilter_ShouldSetVary_OnMissAndHit() throws Exception {
+        // Act
+        MockHttpServletResponse miss = perform(new MockHttpServletRequest("GET", FILTER_PATH), "{}");
+        MockHttpServletResponse hit = perform(new MockHttpServletRequest("GET", FILTER_PATH), "{}");
+
+        // Assert
+        assertEquals(1, rendered.get());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, miss.getHeader(HttpHeaders.VARY));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, hit.getHeader(HttpHeaders.VARY));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            rendered.incrementAndGet();
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getWriter().write(body);
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
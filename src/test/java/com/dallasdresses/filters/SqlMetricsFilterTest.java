@@ -0,0 +1,94 @@
+package com.dallasdresses.filters;
+
+import com.dallasdresses.sql.SqlRequestStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.sql.budget.max-statements=2", "app.sql.budget.fail=true"})
+@AutoConfigureMockMvc
+@DisplayName("SQL Metrics Filter Tests")
+class SqlMetricsFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${app.api.baseurl}")
+    String baseUrl;
+
+    @Test
+    @DisplayName("Should record the request and fail it when it prepares more statements than the budget")
+    void testFilter_ShouldRecordAndThrow_WhenBudgetExceeded() {
+        // Act: the users page takes three statements, the page then the addresses and credentials of its users
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> mockMvc.perform(get(baseUrl + "/users").param("limit", "2")));
+
+        // Assert
+        assertTrue(ex.getMessage().contains("GET " + baseUrl + "/users"));
+        DistributionSummary statements = meterRegistry.find("sql.request.statements")
+                .tags("method", "GET", "route", baseUrl + "/users")
+                .summary();
+        assertNotNull(statements);
+        assertEquals(3, statements.max());
+        assertTrue(meterRegistry.find("sql.request.entity.loads")
+                .tag("route", baseUrl + "/users").summary().max() >= 2);
+        assertNotNull(meterRegistry.find("sql.request.jdbc.time").tag("route", baseUrl + "/users").timer());
+        Counter exceeded = meterRegistry.find("sql.request.budget.exceeded").tag("route", baseUrl + "/users").counter();
+        assertNotNull(exceeded);
+        assertEquals(1, exceeded.count());
+    }
+
+    @Test
+    @DisplayName("Should pass a request within the budget")
+    void testFilter_ShouldPass_WhenWithinBudget() throws Exception {
+        // Act: categories are served from the category cache
+        mockMvc.perform(get(baseUrl + "/categories")).andExpect(status().isOk());
+
+        // Assert
+        assertEquals(0, meterRegistry.find("sql.request.statements")
+                .tag("route", baseUrl + "/categories").summary().max());
+    }
+
+    @Test
+    @DisplayName("Should count JdbcTemplate statements, including ones handed to another thread")
+    void testStats_ShouldCountJdbcStatements_WhenRunOnTrackedAndPropagatedThreads() {
+        // Arrange
+        SqlRequestStats.begin();
+        SqlRequestStats.Snapshot stats;
+
+        // Act
+        try {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Long.class);
+            Supplier<Long> handedOff = SqlRequestStats.propagate(
+                    () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class));
+            CompletableFuture.supplyAsync(handedOff).join();
+        } finally {
+            stats = SqlRequestStats.end();
+        }
+
+        // Assert
+        assertEquals(2, stats.statements());
+        assertTrue(stats.jdbcNanos() > 0);
+    }
+}
@@ -0,0 +1,210 @@
+package com.dallasdresses.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a synthetic catalog straight through JDBC in large batches: categories, items with
+ * variants, category links and images, then users with addresses. The data is deterministic for
+ * a given seed, so two runs against the same sizes load the same rows.
+ */
+public class CatalogDataGenerator {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] COLORS = {"Black", "Ivory", "Maroon", "Navy", "Peach", "Rose", "Teal", "Zinc"};
+    private static final String[] SIZES = {"XS2", "XS", "SM", "MD", "LG", "XL", "XL2", "XL3", "XL4"};
+    private static final String[] FABRICS = {"Chiffon", "Silk", "Lawn", "Velvet", "Organza", "Georgette"};
+    private static final String[] STYLES = {"Frock", "Suit", "Gown", "Maxi", "Kurta", "Lehenga"};
+    private static final String[] ADDRESS_TYPES = {"MAIN", "ALTERNATE", "RESIDENTIAL", "WORK"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    public CatalogDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public Dataset generate(Sizes sizes) {
+        IdRange categories = insertCategories(sizes.categories());
+        IdRange items = insertItems(sizes.items());
+        linkVariants(items, sizes.variantsPerFamily());
+        linkCategories(items, categories, sizes.categoriesPerItem());
+        insertImages(items, sizes.imagesPerItem());
+        IdRange users = insertUsers(sizes.users());
+        insertAddresses(users, sizes.addressesPerUser());
+
+        List<String> slugs = jdbcTemplate.queryForList(
+                "SELECT slug FROM categories WHERE id BETWEEN ? AND ? ORDER BY id", String.class,
+                categories.first(), categories.last());
+        return new Dataset(items, categories, users, slugs);
+    }
+
+    private IdRange insertCategories(int count) {
+        return insert("categories", count, "INSERT INTO categories (name, slug) VALUES (?, ?)", (i, args) -> {
+            String style = STYLES[i % STYLES.length];
+            args.add(new Object[]{style + " Collection " + i, "load-" + style.toLowerCase() + "-" + i});
+        });
+    }
+
+    private IdRange insertItems(int count) {
+        return insert("items", count, "INSERT INTO items (name, description, color, size, stock, price, "
+                + "discount_type, discount_value) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", (i, args) -> {
+            String color = COLORS[random.nextInt(COLORS.length)];
+            String fabric = FABRICS[random.nextInt(FABRICS.length)];
+            String style = STYLES[random.nextInt(STYLES.length)];
+            int discount = random.nextInt(10);
+            args.add(new Object[]{
+                    color + " " + fabric + " " + style + " " + i,
+                    "A " + color.toLowerCase() + " " + fabric.toLowerCase() + " " + style.toLowerCase()
+                            + " with hand finished embroidery",
+                    color,
+                    SIZES[random.nextInt(SIZES.length)],
+                    random.nextInt(50),
+                    BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2),
+                    discount == 0 ? "PERCENTAGE" : discount == 1 ? "FIXED" : "NONE",
+                    discount == 0 ? 10.0 + random.nextInt(40) : discount == 1 ? 5.0 : 0.0});
+        });
+    }
+
+    // Every family is a base item followed by its color and size variants
+    private void linkVariants(IdRange items, int familySize) {
+        if (familySize < 2) {
+            return;
+        }
+
+        String sql = "UPDATE items SET parent_id = ? WHERE id = ?";
+        List<Object[]> args = new ArrayList<>();
+        for (long id = items.first(); id <= items.last(); id++) {
+            long offset = (id - items.first()) % familySize;
+            if (offset != 0) {
+                args.add(new Object[]{id - offset, id});
+            }
+            args = flushIfFull(sql, args);
+        }
+        batch(sql, args);
+    }
+
+    private void linkCategories(IdRange items, IdRange categories, int perItem) {
+        List<Object[]> args = new ArrayList<>();
+        int categoryCount = categories.size();
+        for (long id = items.first(); id <= items.last(); id++) {
+            int start = random.nextInt(categoryCount);
+            for (int c = 0; c < Math.min(perItem, categoryCount); c++) {
+                args.add(new Object[]{id, categories.first() + (start + c) % categoryCount});
+            }
+            args = flushIfFull("INSERT INTO item_category (item_id, category_id) VALUES (?, ?)", args);
+        }
+        batch("INSERT INTO item_category (item_id, category_id) VALUES (?, ?)", args);
+    }
+
+    private void insertImages(IdRange items, int perItem) {
+        String sql = "INSERT INTO item_image (url, alt_text, item_id, display_order, is_primary) VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> args = new ArrayList<>();
+        for (long id = items.first(); id <= items.last(); id++) {
+            for (int order = 0; order < perItem; order++) {
+                args.add(new Object[]{"https://cdn.example.com/items/" + id + "/" + order + ".jpg",
+                        "View " + order + " of item " + id, id, order, order == 0});
+            }
+            args = flushIfFull(sql, args);
+        }
+        batch(sql, args);
+    }
+
+    private IdRange insertUsers(int count) {
+        return insert("users", count, "INSERT INTO users (email, first_name, last_name, role, locale, email_verified) "
+                + "VALUES (?, ?, ?, 'USER', 'en', ?)", (i, args) -> args.add(new Object[]{
+                "load.shopper." + i + "@xyzmail.com", "Shopper", "Number" + i, random.nextBoolean()}));
+    }
+
+    private void insertAddresses(IdRange users, int perUser) {
+        Long countryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM countries", Long.class);
+        String sql = "INSERT INTO addresses (address_line1, city, state, country_id, postal_code, address_type, user_id) "
+                + "VALUES (?, 'Dallas', 'TX', ?, ?, ?, ?)";
+        List<Object[]> args = new ArrayList<>();
+        for (long id = users.first(); id <= users.last(); id++) {
+            for (int a = 0; a < perUser; a++) {
+                args.add(new Object[]{(100 + random.nextInt(9_900)) + " Elm Street", countryId,
+                        String.valueOf(75_000 + random.nextInt(400)), ADDRESS_TYPES[a % ADDRESS_TYPES.length], id});
+            }
+            args = flushIfFull(sql, args);
+        }
+        batch(sql, args);
+    }
+
+    /**
+     * Inserts {@code count} rows and returns their ids. Rows are written from one thread into an
+     * identity column, so they take the ids right after the current maximum.
+     */
+    private IdRange insert(String table, int count, String sql, RowWriter writer) {
+        long first = maxId(table) + 1;
+        List<Object[]> args = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            writer.write(i, args);
+            args = flushIfFull(sql, args);
+        }
+        batch(sql, args);
+
+        IdRange range = new IdRange(first, maxId(table));
+        if (range.size() != count) {
+            throw new IllegalStateException("Expected " + count + " new rows in " + table + " but found " + range.size());
+        }
+        return range;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private List<Object[]> flushIfFull(String sql, List<Object[]> args) {
+        if (args.size() < BATCH_SIZE) {
+            return args;
+        }
+        batch(sql, args);
+        return new ArrayList<>();
+    }
+
+    private void batch(String sql, List<Object[]> args) {
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, args);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(int index, List<Object[]> args);
+    }
+
+    public record Sizes(int categories, int items, int variantsPerFamily, int categoriesPerItem, int imagesPerItem,
+                        int users, int addressesPerUser) {
+
+        /**
+         * Sizes from {@code loadtest.*} system properties, defaulting to a catalog of 200k items.
+         */
+        public static Sizes fromSystemProperties() {
+            return new Sizes(
+                    Integer.getInteger("loadtest.categories", 200),
+                    Integer.getInteger("loadtest.items", 200_000),
+                    Integer.getInteger("loadtest.variants-per-family", 4),
+                    Integer.getInteger("loadtest.categories-per-item", 3),
+                    Integer.getInteger("loadtest.images-per-item", 4),
+                    Integer.getInteger("loadtest.users", 50_000),
+                    Integer.getInteger("loadtest.addresses-per-user", 2));
+        }
+    }
+
+    public record IdRange(long first, long last) {
+
+        public int size() {
+            return (int) (last - first + 1);
+        }
+    }
+
+    public record Dataset(IdRange items, IdRange categories, IdRange users, List<String> categorySlugs) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.dallasdresses.loadtest;
+
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the catalog and user endpoints over HTTP with a pool of concurrent clients against a
+ * generated dataset. Opt-in because loading the data alone takes a while:
+ * <pre>
+ * mvn test -Dtest=CatalogLoadTest -Dloadtest=true -Dloadtest.items=300000 -Dloadtest.clients=32
+ * </pre>
+ * Sizes, client count, warm-up and run length are read from {@code loadtest.*} system properties,
+ * and the latency report is written to {@code loadtest.report} (default target/loadtest-report.txt).
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.dallasdresses=WARN")
+@DisplayName("Catalog Load Test")
+class CatalogLoadTest {
+
+    @LocalServerPort
+    int port;
+
+    @Value("${app.api.baseurl}")
+    String baseUrl;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    CatalogDataGenerator.Dataset dataset;
+    LoadDriver loadDriver;
+
+    @BeforeEach
+    void setUp() {
+        dataset = new CatalogDataGenerator(jdbcTemplate, Long.getLong("loadtest.seed", 42L))
+                .generate(CatalogDataGenerator.Sizes.fromSystemProperties());
+
+        // The rows went in behind the services' backs, so the in-memory indexes reload as after an import
+        eventPublisher.publishEvent(new CategoryChangedEvent(null));
+        eventPublisher.publishEvent(new ItemsImportedEvent(dataset.items().size()));
+
+        loadDriver = new LoadDriver("http://localhost:" + port + baseUrl, dataset);
+    }
+
+    @Test
+    @DisplayName("Should serve the read mix without server errors and report latency percentiles")
+    void testReadMix_UnderConcurrentLoad() throws Exception {
+        // Arrange
+        int clients = Integer.getInteger("loadtest.clients", 16);
+        Duration warmUp = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10L));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60L));
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.txt"));
+
+        loadDriver.run(clients, warmUp, new LatencyRecorder());
+
+        // Act
+        LatencyRecorder recorder = new LatencyRecorder();
+        Duration elapsed = loadDriver.run(clients, duration, recorder);
+        List<LatencyRecorder.RouteSummary> summaries = recorder.writeReport(reportFile, elapsed, String.format(
+                "Catalog load test: %d clients, %s, %d items, %d categories, %d users",
+                clients, elapsed, dataset.items().size(), dataset.categories().size(), dataset.users().size()));
+
+        // Assert
+        LatencyRecorder.RouteSummary total = summaries.getLast();
+        assertTrue(total.requests() > 0);
+        assertEquals(0, total.errors(), "Requests failed under load, see " + reportFile);
+    }
+}
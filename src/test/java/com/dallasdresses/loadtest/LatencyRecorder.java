@@ -0,0 +1,126 @@
+package com.dallasdresses.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects request latencies per route. Each client thread writes into its own buffer, so recording
+ * takes no lock; the buffers are only merged when the report is written, after the clients stop.
+ */
+public class LatencyRecorder {
+
+    private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Buffer> local = ThreadLocal.withInitial(() -> {
+        Buffer buffer = new Buffer();
+        buffers.add(buffer);
+        return buffer;
+    });
+
+    public void record(String route, long nanos, boolean failed) {
+        local.get().add(route, nanos, failed);
+    }
+
+    public long errorCount() {
+        return buffers.stream().flatMap(buffer -> buffer.errors.values().stream()).mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Writes count, errors, throughput and p50/p99/p999/max per route, and for all routes together.
+     */
+    public List<RouteSummary> writeReport(Path file, Duration elapsed, String header) throws IOException {
+        Map<String, long[]> merged = new TreeMap<>();
+        Map<String, Long> errors = new HashMap<>();
+        for (Buffer buffer : buffers) {
+            buffer.samples.forEach((route, samples) -> merged.merge(route, samples.toArray(), LatencyRecorder::concat));
+            buffer.errors.forEach((route, count) -> errors.merge(route, count, Long::sum));
+        }
+
+        List<RouteSummary> summaries = new ArrayList<>();
+        long[] all = new long[0];
+        for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+            summaries.add(RouteSummary.of(entry.getKey(), entry.getValue(), errors.getOrDefault(entry.getKey(), 0L), elapsed));
+            all = concat(all, entry.getValue());
+        }
+        summaries.add(RouteSummary.of("ALL", all, errorCount(), elapsed));
+
+        StringBuilder report = new StringBuilder(header).append(System.lineSeparator());
+        report.append(String.format("%-40s %10s %8s %10s %10s %10s %10s %10s%n",
+                "route", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (RouteSummary summary : summaries) {
+            report.append(String.format(Locale.ROOT, "%-40s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    summary.route(), summary.requests(), summary.errors(), summary.throughput(),
+                    millis(summary.p50()), millis(summary.p99()), millis(summary.p999()), millis(summary.max())));
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, report);
+        return summaries;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    public record RouteSummary(String route, long requests, long errors, double throughput,
+                               long p50, long p99, long p999, long max) {
+
+        static RouteSummary of(String route, long[] samples, long errors, Duration elapsed) {
+            long[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+            return new RouteSummary(route, sorted.length, errors, sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        }
+
+        // Nearest-rank percentile
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank - 1, 0)];
+        }
+    }
+
+    private static final class Buffer {
+
+        private final Map<String, Samples> samples = new HashMap<>();
+        private final Map<String, Long> errors = new HashMap<>();
+
+        void add(String route, long nanos, boolean failed) {
+            samples.computeIfAbsent(route, key -> new Samples()).add(nanos);
+            if (failed) {
+                errors.merge(route, 1L, Long::sum);
+            }
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
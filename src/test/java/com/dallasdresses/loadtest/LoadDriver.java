@@ -0,0 +1,113 @@
+package com.dallasdresses.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed number of closed-loop HTTP clients, each sending the next request as soon as the last
+ * one is answered, over a read mix weighted toward the catalog reads a storefront makes most.
+ */
+public class LoadDriver {
+
+    private final String apiUrl;
+    private final CatalogDataGenerator.Dataset dataset;
+    private final HttpClient httpClient;
+
+    public LoadDriver(String apiUrl, CatalogDataGenerator.Dataset dataset) {
+        this.apiUrl = apiUrl;
+        this.dataset = dataset;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Runs {@code clients} clients for {@code duration} and returns how long they actually ran.
+     */
+    public Duration run(int clients, Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        Instant start = Instant.now();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    send(recorder);
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Load clients did not stop");
+        }
+
+        return Duration.between(start, Instant.now());
+    }
+
+    private void send(LatencyRecorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long itemId = random.nextLong(dataset.items().first(), dataset.items().last() + 1);
+        long userId = random.nextLong(dataset.users().first(), dataset.users().last() + 1);
+        String slug = dataset.categorySlugs().get(random.nextInt(dataset.categorySlugs().size()));
+
+        int pick = random.nextInt(100);
+        String route;
+        String path;
+        if (pick < 25) {
+            route = "GET /items";
+            path = "/items?limit=24";
+        } else if (pick < 45) {
+            route = "GET /items/{slug}";
+            path = "/items/" + slug + "?limit=24";
+        } else if (pick < 55) {
+            route = "GET /items/filter";
+            path = "/items/filter?sizes=MD&minPrice=20&maxPrice=120&sort=PRICE_ASC&limit=24";
+        } else if (pick < 65) {
+            route = "GET /items/search";
+            path = "/items/search?q=" + URLEncoder.encode("chiffon suit", StandardCharsets.UTF_8) + "&limit=24";
+        } else if (pick < 75) {
+            route = "GET /items/{id}/family";
+            path = "/items/" + itemId + "/family";
+        } else if (pick < 82) {
+            route = "GET /categories";
+            path = "/categories";
+        } else if (pick < 88) {
+            route = "GET /categories/slug/{slug}";
+            path = "/categories/slug/" + slug;
+        } else if (pick < 94) {
+            route = "GET /users";
+            path = "/users?limit=24";
+        } else {
+            route = "GET /users/{id}";
+            path = "/users/" + userId;
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long started = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 500;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception ex) {
+            failed = true;
+        }
+        recorder.record(route, System.nanoTime() - started, failed);
+    }
+}
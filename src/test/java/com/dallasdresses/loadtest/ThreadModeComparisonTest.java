@@ -0,0 +1,104 @@
+package com.dallasdresses.loadtest;
+
+import com.dallasdresses.DallasdressesApplication;
+import com.dallasdresses.events.CategoryChangedEvent;
+import com.dallasdresses.events.ItemsImportedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the catalog read mix against the app twice, once on Tomcat's platform thread pool and once
+ * with the "virtual-threads" profile, over the same generated dataset and client count, and writes
+ * the two results side by side. Each mode gets its own application and in-memory database.
+ * <pre>
+ * mvn test -Dtest=ThreadModeComparisonTest -Dloadtest=true -Dloadtest.clients=400
+ * </pre>
+ * Takes the same {@code loadtest.*} properties as {@link CatalogLoadTest}; the comparison goes to
+ * {@code loadtest.comparison-report} (default target/thread-mode-comparison.txt), and each mode's
+ * full per-route report next to it.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@DisplayName("Thread Mode Comparison")
+class ThreadModeComparisonTest {
+
+    @Test
+    @DisplayName("Should serve the read mix on platform and on virtual threads and compare them")
+    void testCompareThroughput_PlatformAndVirtualThreads() throws Exception {
+        // Arrange
+        int clients = Integer.getInteger("loadtest.clients", 400);
+        Duration warmUp = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10L));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60L));
+        Path reportFile = Path.of(System.getProperty("loadtest.comparison-report", "target/thread-mode-comparison.txt"));
+
+        // Act
+        LatencyRecorder.RouteSummary platform = runMode("platform", false, clients, warmUp, duration, reportFile);
+        LatencyRecorder.RouteSummary virtual = runMode("virtual", true, clients, warmUp, duration, reportFile);
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Catalog read mix, %d clients, %s per mode", clients, duration));
+        lines.add(String.format("%-10s %10s %8s %10s %10s %10s %10s",
+                "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms"));
+        lines.add(format("platform", platform));
+        lines.add(format("virtual", virtual));
+        lines.add(String.format(Locale.ROOT, "virtual/platform throughput: %.2f",
+                virtual.throughput() / Math.max(platform.throughput(), 1e-9)));
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.write(reportFile, lines);
+
+        // Assert
+        assertTrue(platform.requests() > 0 && virtual.requests() > 0);
+        assertEquals(0, platform.errors(), "Requests failed on platform threads, see " + reportFile);
+        assertEquals(0, virtual.errors(), "Requests failed on virtual threads, see " + reportFile);
+    }
+
+    private LatencyRecorder.RouteSummary runMode(String mode, boolean virtualThreads, int clients, Duration warmUp,
+                                                 Duration duration, Path reportFile) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DallasdressesApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "logging.level.com.dallasdresses=WARN");
+        if (virtualThreads) {
+            builder.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            CatalogDataGenerator.Dataset dataset = new CatalogDataGenerator(
+                    context.getBean(JdbcTemplate.class), Long.getLong("loadtest.seed", 42L))
+                    .generate(CatalogDataGenerator.Sizes.fromSystemProperties());
+            context.publishEvent(new CategoryChangedEvent(null));
+            context.publishEvent(new ItemsImportedEvent(dataset.items().size()));
+
+            String apiUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("app.api.baseurl");
+            LoadDriver loadDriver = new LoadDriver(apiUrl, dataset);
+            loadDriver.run(clients, warmUp, new LatencyRecorder());
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            Duration elapsed = loadDriver.run(clients, duration, recorder);
+            List<LatencyRecorder.RouteSummary> summaries = recorder.writeReport(
+                    reportFile.resolveSibling("loadtest-report-" + mode + ".txt"), elapsed,
+                    String.format("Catalog load test on %s threads: %d clients, %s", mode, clients, elapsed));
+            return summaries.getLast();
+        }
+    }
+
+    private static String format(String mode, LatencyRecorder.RouteSummary summary) {
+        return String.format(Locale.ROOT, "%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f",
+                mode, summary.requests(), summary.errors(), summary.throughput(),
+                summary.p50() / 1_000_000.0, summary.p99() / 1_000_000.0, summary.p999() / 1_000_000.0);
+    }
+}
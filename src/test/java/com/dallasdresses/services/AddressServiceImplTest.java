@@ -1,5 +1,6 @@
 package com.dallasdresses.services;
 
+import com.dallasdresses.cache.CountryCache;
 import com.dallasdresses.converters.AddressToAddressDtoConverter;
 import com.dallasdresses.dtos.response.AddressDto;
 import com.dallasdresses.entities.Address;
@@ -43,6 +44,9 @@ class AddressServiceImplTest {
     @Mock
     CountryRepository countryRepository;
 
+    @Mock
+    CountryCache countryCache;
+
     @Mock
     AddressToAddressDtoConverter addressDtoConverter;
 
@@ -192,7 +196,8 @@ class AddressServiceImplTest {
                 .findByUserIdAndAddressLine1AndCityAndStateAndPostalCode(
                         anyLong(), anyString(), anyString(), anyString(), anyString()))
                 .thenReturn(Optional.empty());
-        when(countryRepository.findByNameIgnoreCase(cr.getCountry())).thenReturn(Optional.of(country));
+        when(countryCache.findIdByName(cr.getCountry())).thenReturn(Optional.of(country.getId()));
+        when(countryRepository.getReferenceById(country.getId())).thenReturn(country);
         when(addressRepository.save(any(Address.class))).thenReturn(address1);
         when(addressDtoConverter.convert(address1)).thenReturn(addressDto1);
 
@@ -202,7 +207,8 @@ class AddressServiceImplTest {
         verify(addressRepository, times(1))
                 .findByUserIdAndAddressLine1AndCityAndStateAndPostalCode(
                         anyLong(), anyString(), anyString(), anyString(), anyString());
-        verify(countryRepository, times(1)).findByNameIgnoreCase(cr.getCountry());
+        verify(countryCache, times(1)).findIdByName(cr.getCountry());
+        verify(countryRepository, never()).findByNameIgnoreCase(anyString());
         verify(addressRepository, times(1)).save(any(Address.class));
         verify(addressDtoConverter, times(1)).convert(address1);
     }
@@ -273,7 +279,7 @@ class AddressServiceImplTest {
                 .findByUserIdAndAddressLine1AndCityAndStateAndPostalCode(
                         anyLong(), anyString(), anyString(), anyString(), anyString()))
                 .thenReturn(Optional.empty());
-        when(countryRepository.findByNameIgnoreCase(cr.getCountry())).thenReturn(Optional.empty());
+        when(countryCache.findIdByName(cr.getCountry())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> addressService.createAddress(cr));
@@ -282,7 +288,8 @@ class AddressServiceImplTest {
         verify(addressRepository, times(1))
                 .findByUserIdAndAddressLine1AndCityAndStateAndPostalCode(
                         anyLong(), anyString(), anyString(), anyString(), anyString());
-        verify(countryRepository, times(1)).findByNameIgnoreCase(cr.getCountry());
+        verify(countryCache, times(1)).findIdByName(cr.getCountry());
+        verify(countryRepository, never()).getReferenceById(anyLong());
         verify(addressRepository, never()).save(any(Address.class));
         verify(addressDtoConverter, never()).convert(address1);
     }
@@ -313,6 +320,7 @@ class AddressServiceImplTest {
 
         // Act
         when(addressRepository.findById(ur.getId())).thenReturn(Optional.of(address1));
+        when(countryCache.findNameById(country.getId())).thenReturn(Optional.of(country.getName()));
         when(addressRepository.save(any(Address.class))).thenReturn(updatedAddress);
         when(addressDtoConverter.convert(any(Address.class))).thenReturn(updatedAddressDto);
 
@@ -320,6 +328,7 @@ class AddressServiceImplTest {
         assertEquals(updatedAddressDto, addressService.updateAddress(ur));
 
         verify(addressRepository, times(1)).findById(anyLong());
+        verify(countryCache, never()).findIdByName(anyString());
         verify(countryRepository, never()).findByNameIgnoreCase(anyString());
         verify(addressRepository, times(1)).save(any(Address.class));
         verify(addressDtoConverter, times(1)).convert(any(Address.class));
@@ -407,7 +416,8 @@ class AddressServiceImplTest {
         address1.setUser(user);
 
         when(addressRepository.findById(anyLong())).thenReturn(Optional.of(address1));
-        when(countryRepository.findByNameIgnoreCase(country2.getName())).thenReturn(Optional.empty());
+        when(countryCache.findNameById(country.getId())).thenReturn(Optional.of(country.getName()));
+        when(countryCache.findIdByName(country2.getName())).thenReturn(Optional.empty());
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(
@@ -415,7 +425,8 @@ class AddressServiceImplTest {
                 () -> addressService.updateAddress(ur));
 
         verify(addressRepository, times(1)).findById(anyLong());
-        verify(countryRepository, times(1)).findByNameIgnoreCase(anyString());
+        verify(countryCache, times(1)).findIdByName(anyString());
+        verify(countryRepository, never()).findByNameIgnoreCase(anyString());
         verify(addressRepository, never()).save(any(Address.class));
         verify(addressDtoConverter, never()).convert(any(Address.class));
     }
@@ -0,0 +1,118 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.request.CartItemRequest;
+import com.dallasdresses.dtos.response.CartDto;
+import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled flush is pushed out so that only the test decides when carts are written
+@SpringBootTest(properties = "app.cart.flush-interval=1h")
+@Transactional
+@DisplayName("Cart Service Tests")
+class CartServiceImplTest {
+
+    @Autowired
+    CartServiceImpl cartService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Long userId;
+    Long itemId1;
+    Long itemId2;
+
+    @BeforeEach
+    void setUp() {
+        // A new user per test, as carts stay in memory after the test transaction rolls back
+        jdbcTemplate.update("INSERT INTO users (email, role, locale, email_verified) VALUES (?, 'USER', 'en', false)",
+                "cart." + System.nanoTime() + "@xyzmail.com");
+        userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id LIMIT 2", Long.class);
+        itemId1 = itemIds.get(0);
+        itemId2 = itemIds.get(1);
+    }
+
+    @Test
+    @DisplayName("flush - Should coalesce many cart changes into the final row state")
+    void testFlush_ShouldWriteLatestLineState_WhenCartChangedManyTimes() {
+        // Arrange
+        cartService.addItem(userId, new CartItemRequest(itemId1, 2));
+        cartService.addItem(userId, new CartItemRequest(itemId1, 1));
+        cartService.updateItemQuantity(userId, itemId1, 5);
+        cartService.addItem(userId, new CartItemRequest(itemId2, 1));
+        cartService.removeItem(userId, itemId2);
+
+        // Act
+        CartDto beforeFlush = cartService.getCart(userId);
+        int rowsBeforeFlush = countCartItems();
+        cartService.flush();
+
+        // Assert
+        assertEquals(0, rowsBeforeFlush);
+        assertEquals(1, beforeFlush.getItems().size());
+        assertEquals(5, beforeFlush.getTotalQuantity());
+        assertEquals(1, countCartItems());
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT ci.quantity FROM cart_item ci JOIN cart c ON c.id = ci.cart_id "
+                        + "WHERE c.user_id = ? AND ci.item_id = ?", Integer.class, userId, itemId1));
+        assertNotNull(jdbcTemplate.queryForObject(
+                "SELECT ci.price_at_add FROM cart_item ci JOIN cart c ON c.id = ci.cart_id "
+                        + "WHERE c.user_id = ? AND ci.item_id = ?", BigDecimal.class, userId, itemId1));
+    }
+
+    @Test
+    @DisplayName("flush - Should update and delete lines of an already persisted cart")
+    void testFlush_ShouldUpdateExistingRows_WhenCartWasFlushedBefore() {
+        // Arrange
+        cartService.addItem(userId, new CartItemRequest(itemId1, 1));
+        cartService.addItem(userId, new CartItemRequest(itemId2, 1));
+        cartService.flush();
+
+        // Act
+        cartService.updateItemQuantity(userId, itemId1, 3);
+        cartService.updateItemQuantity(userId, itemId2, 0);
+        cartService.flush();
+
+        // Assert
+        assertEquals(1, countCartItems());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart WHERE user_id = ?", Integer.class, userId));
+    }
+
+    @Test
+    @DisplayName("addItem - Should reject more than ten of an item")
+    void testAddItem_ShouldThrowInvalidEntityException_WhenQuantityExceedsLimit() {
+        // Arrange
+        cartService.addItem(userId, new CartItemRequest(itemId1, 8));
+
+        // Act & Assert
+        assertThrows(InvalidEntityException.class,
+                () -> cartService.addItem(userId, new CartItemRequest(itemId1, 3)));
+    }
+
+    @Test
+    @DisplayName("addItem - Should throw EntityNotFoundException")
+    void testAddItem_ShouldThrowEntityNotFoundException_WhenItemDoesNotExist() {
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class,
+                () -> cartService.addItem(userId, new CartItemRequest(-1L, 1)));
+    }
+
+    private int countCartItems() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_item ci JOIN cart c ON c.id = ci.cart_id WHERE c.user_id = ?",
+                Integer.class, userId);
+    }
+}
@@ -1,8 +1,10 @@
 package com.dallasdresses.services;
 
+import com.dallasdresses.cache.CategoryCache;
 import com.dallasdresses.converters.CategoryToCategoryDtoConverter;
 import com.dallasdresses.dtos.response.CategoryDto;
 import com.dallasdresses.entities.Category;
+import com.dallasdresses.events.CategoryChangedEvent;
 import com.dallasdresses.exceptions.DuplicateEntityException;
 import com.dallasdresses.exceptions.EntityNotFoundException;
 import com.dallasdresses.exceptions.InvalidEntityException;
@@ -16,8 +18,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +36,12 @@ class CategoryServiceImplTest {
     @Mock
     CategoryToCategoryDtoConverter categoryDtoConverter;
 
+    @Mock
+    CategoryCache categoryCache;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     CategoryServiceImpl categoryService;
 
@@ -74,105 +82,97 @@ class CategoryServiceImplTest {
     @DisplayName("getAllCategories - Should return all categories")
     void testGetAllCategories_ShouldReturnAllCategories() {
         // Arrange
-        List<Category> categories = new ArrayList<>();
-        categories.add(category1);
-        categories.add(category2);
-
-        when(categoryRepository.findAll()).thenReturn(List.of(category1, category2));
+        when(categoryCache.findAll()).thenReturn(List.of(category1Dto, category2Dto));
 
         // Act
         List<CategoryDto> categoryDtos = categoryService.getAllCategories();
 
         // Assert
-        assertEquals(categories.size(), categoryDtos.size());
-        verify(categoryRepository,times(1)).findAll();
+        assertEquals(2, categoryDtos.size());
+        verify(categoryCache, times(1)).findAll();
+        verify(categoryRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("getAllCategories - Should return all categories")
     void testGetCategoryById_ShouldReturnCategory_WhenNoErrors() {
         // Arrange
-        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(category1));
-        when(categoryDtoConverter.convert(any(Category.class))).thenReturn(category1Dto);
+        when(categoryCache.findById(anyLong())).thenReturn(Optional.of(category1Dto));
 
         // Act
         CategoryDto returnedCategoryDto = categoryService.getCategoryById(1L);
 
         // Assert
         assertEquals(category1Dto, returnedCategoryDto);
-        verify(categoryRepository,times(1)).findById(anyLong());
-        verify(categoryDtoConverter,times(1)).convert(any(Category.class));
+        verify(categoryCache, times(1)).findById(anyLong());
+        verify(categoryRepository, never()).findById(anyLong());
     }
 
     @Test
     @DisplayName("getAllCategories - Should Throw EntityNotFoundException")
     void testGetCategoryById_ShouldThrowEntityNotFoundException_WhenCategoryNotFound() {
         // Arrange
-        when(categoryRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(categoryCache.findById(anyLong())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> categoryService.getCategoryById(1L));
 
-        verify(categoryRepository,times(1)).findById(anyLong());
-        verify(categoryDtoConverter,never()).convert(any(Category.class));
+        verify(categoryCache, times(1)).findById(anyLong());
+        verify(categoryRepository, never()).findById(anyLong());
     }
 
     @Test
     @DisplayName("getCategoryByName - Should return category")
     void testGetCategoryByName_ShouldReturnCategory_WhenNoErrors() {
         // Arrange
-        when(categoryRepository.findByName(anyString())).thenReturn(Optional.of(category1));
-        when(categoryDtoConverter.convert(any(Category.class))).thenReturn(category1Dto);
+        when(categoryCache.findByName(anyString())).thenReturn(Optional.of(category1Dto));
 
         // Act
         CategoryDto returnedCategoryDto = categoryService.getCategoryByName("Jackets");
 
         // Assert
         assertEquals(category1Dto, returnedCategoryDto);
-        verify(categoryRepository,times(1)).findByName(anyString());
-        verify(categoryDtoConverter,times(1)).convert(any(Category.class));
+        verify(categoryCache, times(1)).findByName(anyString());
+        verify(categoryRepository, never()).findByName(anyString());
     }
 
     @Test
     @DisplayName("getCategoryByName - Should Throw EntityNotFoundException")
     void testGetCategoryByName_ShouldThrowEntityNotFoundException_WhenCategoryNotFound() {
         // Arrange
-        when(categoryRepository.findByName(anyString())).thenReturn(Optional.empty());
+        when(categoryCache.findByName(anyString())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> categoryService.getCategoryByName("Jackets"));
 
-        verify(categoryRepository,times(1)).findByName(anyString());
-        verify(categoryDtoConverter,never()).convert(any(Category.class));
+        verify(categoryCache, times(1)).findByName(anyString());
     }
 
     @Test
     @DisplayName("getCategoryBySlug - Should return category")
     void testGetCategoryBySlug_ShouldReturnCategory_WhenNoErrors() {
         // Arrange
-        when(categoryRepository.findBySlug(anyString())).thenReturn(Optional.of(category1));
-        when(categoryDtoConverter.convert(any(Category.class))).thenReturn(category1Dto);
+        when(categoryCache.findBySlug(anyString())).thenReturn(Optional.of(category1Dto));
 
         // Act
-        CategoryDto returnedCategoryDto = categoryService.getCategoryBySlug("Jackets");
+        CategoryDto returnedCategoryDto = categoryService.getCategoryBySlug("jackets");
 
         // Assert
         assertEquals(category1Dto, returnedCategoryDto);
-        verify(categoryRepository,times(1)).findBySlug(anyString());
-        verify(categoryDtoConverter,times(1)).convert(any(Category.class));
+        verify(categoryCache, times(1)).findBySlug(anyString());
+        verify(categoryRepository, never()).findBySlug(anyString());
     }
 
     @Test
     @DisplayName("getCategoryBySlug - Should Throw EntityNotFoundException")
     void testGetCategoryBySlug_ShouldThrowEntityNotFoundException_WhenCategoryNotFound() {
         // Arrange
-        when(categoryRepository.findBySlug(anyString())).thenReturn(Optional.empty());
+        when(categoryCache.findBySlug(anyString())).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(EntityNotFoundException.class, () -> categoryService.getCategoryBySlug("Jackets"));
+        assertThrows(EntityNotFoundException.class, () -> categoryService.getCategoryBySlug("jackets"));
 
-        verify(categoryRepository,times(1)).findBySlug(anyString());
-        verify(categoryDtoConverter,never()).convert(any(Category.class));
+        verify(categoryCache, times(1)).findBySlug(anyString());
     }
 
     @Test
@@ -201,6 +201,7 @@ class CategoryServiceImplTest {
         verify(categoryRepository, times(1)).existsByNameIgnoreCase(anyString());
         verify(categoryRepository,times(1)).save(categoryToSave);
         verify(categoryDtoConverter,times(1)).convert(savedCategory);
+        verify(eventPublisher, times(1)).publishEvent(new CategoryChangedEvent(3L));
     }
 
     @Test
@@ -245,6 +246,23 @@ class CategoryServiceImplTest {
         verify(categoryDtoConverter, never()).convert(savedCategory);
     }
 
+    @Test
+    @DisplayName("createCategory - Should throw InvalidEntityException - When slug is a reserved item route")
+    void testCreateCategory_ShouldThrowInvalidEntityException_WhenSlugIsReserved() {
+        // Arrange
+        CategoryCreateRequest request = CategoryCreateRequest.builder()
+                .name("Search").build();
+
+        // Act & Assert
+        InvalidEntityException ex = assertThrows(InvalidEntityException.class,
+                () -> categoryService.createCategory(request));
+
+        // Assert
+        assertTrue(ex.getMessage().contains("search"));
+        verify(categoryRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     @DisplayName("updateCategory - Should update category")
     void testUpdateCategory_ShouldUpdateCategory_WhenNoErrors() {
@@ -316,6 +334,24 @@ class CategoryServiceImplTest {
         verify(categoryRepository, never()).save(any(Category.class));
     }
 
+    @Test
+    @DisplayName("updateCategory - Should throw InvalidEntityException - When slug is a reserved item route")
+    void testUpdateCategory_ShouldThrowInvalidEntityException_WhenSlugIsReserved() {
+        // Arrange
+        Category existingCategory = Category.builder()
+                .id(1L).name("Jackets").slug("jackets").build();
+        CategoryUpdateRequest request = CategoryUpdateRequest.builder()
+                .id(1L).name("Jackets").slug("export").build();
+
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(existingCategory));
+
+        // Act & Assert
+        assertThrows(InvalidEntityException.class, () -> categoryService.updateCategory(request));
+
+        verify(categoryRepository, never()).save(any(Category.class));
+        assertEquals("jackets", existingCategory.getSlug());
+    }
+
     @Test
     @DisplayName("updateCategory - Should throw InvalidEntityException")
     void testUpdateCategory_ShouldThrowInvalidEntityException_WhenError() {
@@ -351,6 +387,7 @@ class CategoryServiceImplTest {
         // Assert
         verify(categoryRepository, times(1)).findById(any());
         verify(categoryRepository, times(1)).deleteById(any());
+        verify(eventPublisher, times(1)).publishEvent(new CategoryChangedEvent(category1.getId()));
     }
 
     @Test
@@ -0,0 +1,189 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.events.ItemChangedEvent;
+import com.dallasdresses.events.StockChangedEvent;
+import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.repositories.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Inventory Service Tests")
+class InventoryServiceImplTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 500;
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    InventoryServiceImpl inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new InventoryServiceImpl(itemRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), eventPublisher, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("reserve - Should never hand out more units than are in stock under contention")
+    void testReserve_ShouldNotOversell_WhenManyThreadsCompete() throws Exception {
+        // Arrange
+        int stock = 1_000;
+        when(itemRepository.findStockById(1L)).thenReturn(Optional.of(stock));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    int quantity = 1 + (thread + i) % 3;
+                    if (inventoryService.reserve(1L, quantity)) {
+                        granted.addAndGet(quantity);
+                        // Give some back now and then so releases race with reservations too
+                        if (i % 10 == 0) {
+                            inventoryService.release(1L, quantity);
+                            granted.addAndGet(-quantity);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        inventoryService.flush();
+
+        // Assert
+        int available = inventoryService.getAvailableStock(1L);
+        assertTrue(available >= 0);
+        assertEquals(stock, granted.get() + available);
+        // The order writer takes reserved units off the table, so the flush has nothing to write
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("reserve - Should reject a request larger than the remaining stock")
+    void testReserve_ShouldReturnFalse_WhenStockIsInsufficient() {
+        // Arrange
+        when(itemRepository.findStockById(2L)).thenReturn(Optional.of(2));
+
+        // Act & Assert
+        assertTrue(inventoryService.reserve(2L, 2));
+        assertFalse(inventoryService.reserve(2L, 1));
+        assertEquals(0, inventoryService.getAvailableStock(2L));
+    }
+
+    @Test
+    @DisplayName("reserve - Should throw EntityNotFoundException")
+    void testReserve_ShouldThrowEntityNotFoundException_WhenItemDoesNotExist() {
+        // Arrange
+        when(itemRepository.findStockById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> inventoryService.reserve(99L, 1));
+    }
+
+    @Test
+    @DisplayName("flush - Should hand deltas back when the write fails")
+    void testFlush_ShouldRetryDeltas_WhenBatchUpdateFails() {
+        // Arrange
+        when(itemRepository.findStockById(3L)).thenReturn(Optional.of(10));
+        inventoryService.setStock(3L, 6);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+
+        // Act
+        inventoryService.flush();
+        inventoryService.flush();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), deltas.capture());
+        assertEquals(-4, deltas.getAllValues().get(1).get(0)[0]);
+        verify(eventPublisher, times(1)).publishEvent(new StockChangedEvent(Set.of(3L)));
+    }
+
+    @Test
+    @DisplayName("setStock - Should apply the change as a delta and drop the counter on delete")
+    void testSetStock_ShouldRecordDelta_WhenStockIsOverridden() {
+        // Arrange
+        when(itemRepository.findStockById(4L)).thenReturn(Optional.of(5), Optional.of(0));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        // Act
+        inventoryService.reserve(4L, 2);
+        inventoryService.setStock(4L, 8);
+        inventoryService.flush();
+        inventoryService.onItemChanged(ItemChangedEvent.deleted(4L));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), deltas.capture());
+        assertEquals(5, deltas.getValue().get(0)[0]);
+        assertEquals(0, inventoryService.getAvailableStock(4L));
+    }
+
+    @Test
+    @DisplayName("flush - Should reconcile a refused delta and keep the same counter")
+    void testFlush_ShouldReconcileCounter_WhenRowWasLoweredElsewhere() {
+        // Arrange
+        when(itemRepository.findStockById(5L)).thenReturn(Optional.of(5));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(5L))).thenReturn(List.of(2));
+        inventoryService.setStock(5L, 1);
+
+        // Act
+        inventoryService.flush();
+
+        // Assert
+        verify(jdbcTemplate).update("UPDATE items SET stock = ? WHERE id = ?", 0, 5L);
+        verify(transactionManager).commit(any());
+        verify(eventPublisher).publishEvent(new StockChangedEvent(Set.of(5L)));
+        assertEquals(0, inventoryService.getAvailableStock(5L));
+        assertFalse(inventoryService.reserve(5L, 1));
+        verify(itemRepository, times(1)).findStockById(5L);
+    }
+}
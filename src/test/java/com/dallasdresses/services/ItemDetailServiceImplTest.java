@@ -0,0 +1,132 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.converters.ItemRowToItemDtoConverter;
+import com.dallasdresses.dtos.projection.ItemCategoryRow;
+import com.dallasdresses.dtos.projection.ItemDetail;
+import com.dallasdresses.dtos.projection.ItemRow;
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.dtos.response.ItemImageDto;
+import com.dallasdresses.entities.enums.DressSize;
+import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.repositories.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Item Detail Service Tests")
+class ItemDetailServiceImplTest {
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    ItemImageService itemImageService;
+
+    @Mock
+    ItemService itemService;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    SimpleMeterRegistry meterRegistry;
+    ItemDetailServiceImpl itemDetailService;
+    ItemRow row;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemDetailService = new ItemDetailServiceImpl(itemRepository, new ItemRowToItemDtoConverter(),
+                itemImageService, itemService, transactionManager, meterRegistry, 4, 16, Duration.ofMillis(200),
+                Duration.ofSeconds(1), 10);
+        row = new ItemRow(2L, "Peach Chiffon Suit", "Some description", "Peach", DressSize.MD, 15,
+                new BigDecimal("59.00"), null, null, null, Timestamp.valueOf("2025-01-01 10:00:00"), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemDetailService.shutdown();
+    }
+
+    @Test
+    @DisplayName("getItemDetail - Should assemble the item with its images, categories and variants")
+    void testGetItemDetail_ShouldAssembleAllParts_WhenEveryBranchAnswers() {
+        // Arrange
+        ItemDto variant = ItemDto.builder().id(3L).parentId(2L).children(List.of()).build();
+        when(itemRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(row));
+        when(itemImageService.getImagesByItemId(2L)).thenReturn(List.of(
+                ItemImageDto.builder().id(7L).itemId(2L).url("url1").build()));
+        when(itemRepository.findCategoryRowsByItemIdIn(List.of(2L))).thenReturn(List.of(
+                new ItemCategoryRow(2L, 1L, "Women's", "womens")));
+        when(itemService.getItemFamily(2L)).thenReturn(ItemDto.builder().id(2L).children(List.of(variant)).build());
+
+        // Act
+        ItemDetail detail = itemDetailService.getItemDetail(2L);
+
+        // Assert
+        assertEquals(List.of(), detail.missing());
+        assertEquals(2L, detail.familyRootId());
+        assertEquals("Peach Chiffon Suit", detail.item().getName());
+        assertEquals(1, detail.item().getItemImages().size());
+        assertEquals("womens", detail.item().getCategories().iterator().next().getSlug());
+        assertEquals(List.of(variant), detail.item().getChildren());
+    }
+
+    @Test
+    @DisplayName("getItemDetail - Should leave out and cancel a branch that does not answer in time")
+    void testGetItemDetail_ShouldReportMissingBranch_WhenBranchTimesOut() throws InterruptedException {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(itemRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(row));
+        when(itemImageService.getImagesByItemId(2L)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+                throw ex;
+            }
+            return List.of();
+        });
+        when(itemRepository.findCategoryRowsByItemIdIn(List.of(2L))).thenReturn(List.of());
+        when(itemService.getItemFamily(2L)).thenReturn(ItemDto.builder().id(2L).children(List.of()).build());
+
+        // Act
+        long started = System.nanoTime();
+        ItemDetail detail = itemDetailService.getItemDetail(2L);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Assert
+        assertEquals(List.of("images"), detail.missing());
+        assertTrue(detail.item().getItemImages().isEmpty());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "Waited " + elapsed + " for a timed out branch");
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "The timed out read kept running");
+        assertEquals(1, meterRegistry.find("catalog.item.detail.branch.failures")
+                .tags("branch", "images", "reason", "timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("getItemDetail - Should throw EntityNotFoundException - When item not found")
+    void testGetItemDetail_ShouldThrowEntityNotFoundException_WhenItemNotFound() {
+        // Arrange
+        when(itemRepository.findRowsByIdIn(List.of(99L))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> itemDetailService.getItemDetail(99L));
+    }
+}
@@ -0,0 +1,89 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.response.ImportReportDto;
+import com.dallasdresses.dtos.response.ImportRowErrorDto;
+import com.dallasdresses.imports.ImportFormat;
+import com.dallasdresses.repositories.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@DisplayName("Item Import Service Tests")
+class ItemImportServiceImplTest {
+
+    @Autowired
+    ItemImportServiceImpl itemImportService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("importItems - Should insert valid CSV rows and report the rest")
+    void testImportItems_ShouldImportValidRowsAndReportErrors_WhenCsv() {
+        // Arrange
+        String csv = """
+                name,description,color,size,stock,price,discountType,discountValue,categorySlugs,imageUrls
+                Linen Maxi Dress,Breezy linen,Sand,MD,4,79.00,PERCENTAGE,10,womens|frock,https://img/1.jpg|https://img/2.jpg
+                Linen Maxi Dress,Same again,Sand,MD,4,79.00,NONE,0,womens,https://img/3.jpg
+                Zinc Shisha Work Frock,Already seeded,Zinc,SM,1,67.00,NONE,0,frock,https://img/4.jpg
+                Wool Coat,Warm,Grey,MD,2,120.00,NONE,0,winter,https://img/5.jpg
+                Silk Scarf,Soft,Red,HUGE,2,20.00,NONE,0,womens,https://img/6.jpg
+                Cotton Tee,Plain,White,SM,-1,15.00,NONE,0,mens,https://img/7.jpg
+                """;
+        long itemsBefore = itemRepository.count();
+
+        // Act
+        ImportReportDto report = itemImportService.importItems(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        // Assert
+        assertEquals(6, report.getProcessed());
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(3, report.getFailed());
+        assertFalse(report.isAborted());
+        assertEquals(List.of(4, 5, 6), report.getErrors().stream().map(ImportRowErrorDto::getRow).toList());
+        assertEquals(itemsBefore + 1, itemRepository.count());
+
+        Long itemId = jdbcTemplate.queryForObject(
+                "SELECT id FROM items WHERE name = 'Linen Maxi Dress'", Long.class);
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM item_category WHERE item_id = ?", Integer.class, itemId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM item_image WHERE item_id = ? AND is_primary", Integer.class, itemId));
+    }
+
+    @Test
+    @DisplayName("importItems - Should stop at malformed NDJSON and keep what came before")
+    void testImportItems_ShouldAbort_WhenNdjsonIsMalformed() {
+        // Arrange
+        String ndjson = """
+                {"name":"Velvet Gown","description":"Evening","color":"Wine","size":"LG","stock":3,"price":150.00,"categorySlugs":["womens"],"imageUrls":["https://img/8.jpg"]}
+                {"name":"Broken",
+                """;
+        long itemsBefore = itemRepository.count();
+
+        // Act
+        ImportReportDto report = itemImportService.importItems(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON);
+
+        // Assert
+        assertTrue(report.isAborted());
+        assertEquals(1, report.getImported());
+        assertEquals(itemsBefore + 1, itemRepository.count());
+    }
+}
@@ -0,0 +1,79 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.pagination.CursorPage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Item Service Query Count Tests")
+class ItemServiceImplQueryCountTest {
+
+    // One id (or page) query plus one query per fetched association
+    private static final long MAX_STATEMENTS = 3;
+
+    @Autowired
+    ItemServiceImpl itemService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getAllItems - Should load associations with a bounded number of statements")
+    void testGetAllItems_ShouldUseBoundedStatementCount() {
+        // Act
+        List<ItemDto> items = itemService.getAllItems();
+
+        // Assert
+        assertFalse(items.isEmpty());
+        assertTrue(items.stream().anyMatch(item -> !item.getItemImages().isEmpty()));
+        assertTrue(items.stream().allMatch(item -> !item.getCategories().isEmpty()));
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS,
+                "Expected at most " + MAX_STATEMENTS + " statements but was "
+                        + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("getItemsByCategory - Should load associations with a bounded number of statements")
+    void testGetItemsByCategory_ShouldUseBoundedStatementCount() {
+        // Act
+        CursorPage<ItemDto> page = itemService.getItemsByCategory("womens", null, null, null);
+
+        // Assert
+        assertFalse(page.getItems().isEmpty());
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS,
+                "Expected at most " + MAX_STATEMENTS + " statements but was "
+                        + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("getItemsPage - Should load associations with a bounded number of statements")
+    void testGetItemsPage_ShouldUseBoundedStatementCount() {
+        // Act
+        CursorPage<ItemDto> page = itemService.getItemsPage(null, 3, null);
+
+        // Assert
+        assertEquals(3, page.getItems().size());
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS,
+                "Expected at most " + MAX_STATEMENTS + " statements but was "
+                        + statistics.getPrepareStatementCount());
+    }
+}
@@ -1,13 +1,30 @@
 package com.dallasdresses.services;
 
+import com.dallasdresses.cache.CategoryCache;
+import com.dallasdresses.cache.CategoryItemIndex;
+import com.dallasdresses.cache.ItemFacetIndex;
+import com.dallasdresses.cache.ItemFamilyCache;
+import com.dallasdresses.cache.ItemSearchIndex;
+import com.dallasdresses.cache.ItemSortIndex;
+import com.dallasdresses.converters.ItemRowToItemDtoConverter;
 import com.dallasdresses.converters.ItemToItemDtoConverter;
+import com.dallasdresses.dtos.projection.ItemCategoryRow;
+import com.dallasdresses.dtos.projection.ItemRow;
 import com.dallasdresses.dtos.request.*;
+import com.dallasdresses.dtos.response.CategoryDto;
 import com.dallasdresses.dtos.response.ItemDto;
+import com.dallasdresses.dtos.response.ItemFilterResultDto;
+import com.dallasdresses.dtos.response.ItemSearchResultDto;
+import com.dallasdresses.dtos.response.ItemImageDto;
 import com.dallasdresses.entities.Category;
 import com.dallasdresses.entities.Item;
 import com.dallasdresses.entities.enums.DressSize;
+import com.dallasdresses.events.ItemChangedEvent;
 import com.dallasdresses.exceptions.DuplicateEntityException;
 import com.dallasdresses.exceptions.EntityNotFoundException;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.pagination.CursorPage;
+import com.dallasdresses.pagination.KeysetCursor;
 import com.dallasdresses.repositories.CategoryRepository;
 import com.dallasdresses.repositories.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,10 +33,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +59,33 @@ class ItemServiceImplTest {
     @Mock
     ItemToItemDtoConverter itemDtoConverter;
 
+    @Mock
+    CategoryCache categoryCache;
+
+    @Mock
+    CategoryItemIndex categoryItemIndex;
+
+    @Mock
+    ItemFacetIndex itemFacetIndex;
+
+    @Mock
+    ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    ItemSortIndex itemSortIndex;
+
+    @Mock
+    ItemFamilyCache itemFamilyCache;
+
+    @Mock
+    InventoryService inventoryService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    ItemRowToItemDtoConverter itemRowDtoConverter = new ItemRowToItemDtoConverter();
+
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -45,6 +94,10 @@ class ItemServiceImplTest {
     Item item2;
     ItemDto itemDto1;
     ItemDto itemDto2;
+    ItemRow row1;
+    ItemRow row2;
+    CategoryDto categoryDto1;
+    CategoryDto categoryDto2;
 
     @BeforeEach
     void setUp() {
@@ -92,54 +145,318 @@ class ItemServiceImplTest {
                 .parentId(item2.getParent().getId())
                 .build();
 
+        row1 = new ItemRow(item1.getId(), item1.getName(), item1.getDescription(), item1.getColor(),
+                item1.getSize(), item1.getStock(), item1.getPrice(), item1.getDiscountType(),
+                item1.getDiscountValue(), parent.getId(), Timestamp.valueOf("2025-01-01 10:00:00"), null);
+
+        row2 = new ItemRow(item2.getId(), item2.getName(), item2.getDescription(), item2.getColor(),
+                item2.getSize(), item2.getStock(), item2.getPrice(), item2.getDiscountType(),
+                item2.getDiscountValue(), parent.getId(), Timestamp.valueOf("2025-01-01 11:00:00"), null);
+
+        categoryDto1 = CategoryDto.builder().id(1L).name("Category1").slug("slug1").build();
+        categoryDto2 = CategoryDto.builder().id(2L).name("Category2").slug("slug2").build();
+
     }
 
     @Test
     @DisplayName("getAllItems - Should return all items")
     void testGetAllItems_ShouldReturnAllItems_WhenNoError() {
         // Arrange
-        List<Item> items = new ArrayList<>();
-        items.add(item1);
-        items.add(item2);
-
-        when(itemRepository.findAllWithCategories()).thenReturn(items);
-        when(itemDtoConverter.convert(item1)).thenReturn(itemDto1);
-        when(itemDtoConverter.convert(item2)).thenReturn(itemDto2);
+        when(itemRepository.findAllRows()).thenReturn(List.of(row1, row2));
+        when(itemRepository.findCategoryRowsByItemIdIn(List.of(row1.id(), row2.id())))
+                .thenReturn(List.of(new ItemCategoryRow(row1.id(), 1L, "Category1", "slug1")));
+        when(itemRepository.findImageDtosByItemIdIn(List.of(row1.id(), row2.id())))
+                .thenReturn(List.of(ItemImageDto.builder().id(7L).itemId(row2.id()).url("url1").build()));
 
         // Act
         List<ItemDto> result = itemService.getAllItems();
 
         // Assert
         assertNotNull(result);
-        assertEquals(items.size(), result.size());
+        assertEquals(2, result.size());
         assertEquals(item1.getId(), result.get(0).getId());
         assertEquals(item2.getId(), result.get(1).getId());
+        assertEquals(parent.getId(), result.get(0).getParentId());
+        assertEquals(1, result.get(0).getCategories().size());
+        assertTrue(result.get(0).getItemImages().isEmpty());
+        assertTrue(result.get(1).getCategories().isEmpty());
+        assertEquals(1, result.get(1).getItemImages().size());
+
+        verify(itemRepository, times(1)).findAllRows();
+        verify(itemRepository, times(1)).findCategoryRowsByItemIdIn(anyList());
+        verify(itemRepository, times(1)).findImageDtosByItemIdIn(anyList());
+        verify(itemDtoConverter, never()).convert(any(Item.class));
+    }
+
+    @Test
+    @DisplayName("getItemsPage - Should return first page and cursor - When more items exist")
+    void testGetItemsPage_ShouldReturnFirstPageAndCursor_WhenMoreItemsExist() {
+        // Arrange
+        when(itemRepository.findFirstPageRows(Limit.of(2))).thenReturn(List.of(row1, row2));
+
+        // Act
+        CursorPage<ItemDto> result = itemService.getItemsPage(null, 1, null);
 
-        verify(itemRepository, times(1)).findAllWithCategories();
-        verify(itemDtoConverter, times(2)).convert(any(Item.class));
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(1, result.getLimit());
+        assertTrue(result.isHasMore());
+
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(row1.id(), next.id());
+        assertEquals(row1.createdAt(), next.createdAt());
+
+        verify(itemRepository, times(1)).findFirstPageRows(any(Limit.class));
+        verify(itemRepository, times(1)).findCategoryRowsByItemIdIn(List.of(row1.id()));
+        verify(itemRepository, times(1)).findImageDtosByItemIdIn(List.of(row1.id()));
+        verify(itemRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("getItemsPage - Should seek past cursor - When cursor is given")
+    void testGetItemsPage_ShouldSeekPastCursor_WhenCursorIsGiven() {
+        // Arrange
+        String cursor = new KeysetCursor(row1.createdAt(), row1.id()).encode();
+
+        when(itemRepository.findPageRowsAfter(row1.createdAt(), row1.id(), Limit.of(3))).thenReturn(List.of(row2));
+
+        // Act
+        CursorPage<ItemDto> result = itemService.getItemsPage(cursor, 2, null);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(item2.getId(), result.getItems().get(0).getId());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+
+        verify(itemRepository, never()).findFirstPageRows(any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("getItemsPage - Should throw InvalidEntityException - When cursor is malformed")
+    void testGetItemsPage_ShouldThrowInvalidEntityException_WhenCursorIsMalformed() {
+        // Act & Assert
+        assertThrows(InvalidEntityException.class, () -> itemService.getItemsPage("not-a-cursor", 10, null));
+
+        verify(itemRepository, never()).findPageRowsAfter(any(), anyLong(), any(Limit.class));
     }
 
     @Test
     @DisplayName("getItemsByCategory - Should return items by category")
     void testGetItemsByCategory_ShouldReturnItemsByCategory_WhenNoError() {
         // Arrange
-        List<Item> items = new ArrayList<>();
-        items.add(item1);
-        items.add(item2);
-
-        when(itemRepository.findItemsByCategorySlug(anyString())).thenReturn(items);
-        when(itemDtoConverter.convert(item1)).thenReturn(itemDto1);
-        when(itemDtoConverter.convert(item2)).thenReturn(itemDto2);
+        when(categoryCache.findBySlug("slug1")).thenReturn(Optional.of(categoryDto1));
+        when(categoryItemIndex.findItemIds(categoryDto1.getId(), null, 3)).thenReturn(List.of(1L, 2L));
+        when(itemRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(List.of(row1, row2));
 
         // Act
-        List<ItemDto> result = itemService.getItemsByCategory("slug");
+        CursorPage<ItemDto> result = itemService.getItemsByCategory("slug1", null, 2, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(items.size(), result.size());
+        assertEquals(2, result.getItems().size());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+
+        verify(itemRepository, times(1)).findRowsByIdIn(anyList());
+        verify(itemRepository, times(1)).findCategoryRowsByItemIdIn(anyList());
+        verify(itemRepository, times(1)).findImageDtosByItemIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("getItemsByCategory - Should load only the requested page - When more items exist")
+    void testGetItemsByCategory_ShouldReturnNextCursor_WhenMoreItemsExist() {
+        // Arrange
+        when(categoryCache.findBySlug("slug1")).thenReturn(Optional.of(categoryDto1));
+        when(categoryItemIndex.findItemIds(categoryDto1.getId(), 1L, 2)).thenReturn(List.of(2L, 7L));
+        when(itemRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(row2));
+
+        // Act
+        CursorPage<ItemDto> result = itemService.getItemsByCategory("slug1", KeysetCursor.of(1L).encode(), 1, null);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.isHasMore());
+        assertEquals(2L, KeysetCursor.decode(result.getNextCursor()).id());
+    }
+
+    @Test
+    @DisplayName("getItemsByCategory - Should serve a price sorted page from the facet index")
+    void testGetItemsByCategory_ShouldKeepSortOrder_WhenSortedByPrice() {
+        // Arrange
+        when(categoryCache.findBySlug("slug1")).thenReturn(Optional.of(categoryDto1));
+        when(itemFacetIndex.findByPrice(categoryDto1.getId(), ItemSort.PRICE_DESC, 9000L, 7L, 1))
+                .thenReturn(new ItemFacetIndex.PricePage(List.of(2L), true, 5000L));
+        when(itemRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(row2));
+
+        // Act
+        CursorPage<ItemDto> result = itemService.getItemsByCategory(
+                "slug1", KeysetCursor.of(9000L, 7L).encode(), 1, ItemSort.PRICE_DESC);
+
+        // Assert
+        assertEquals(List.of(2L), result.getItems().stream().map(ItemDto::getId).toList());
+        assertTrue(result.isHasMore());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(2L, next.id());
+        assertEquals(5000L, next.sortValue());
+        verify(categoryItemIndex, never()).findItemIds(any(), any(), anyInt());
+        verify(itemSortIndex, never()).findNewest(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getItemsByCategory - Should serve a newest first page from the sort index")
+    void testGetItemsByCategory_ShouldKeepSortOrder_WhenSortedByNewest() {
+        // Arrange
+        when(categoryCache.findBySlug("slug1")).thenReturn(Optional.of(categoryDto1));
+        when(itemSortIndex.findNewest(categoryDto1.getId(), null, null, 2)).thenReturn(List.of(
+                new ItemSortIndex.SortedItem(2L, 5000L),
+                new ItemSortIndex.SortedItem(1L, 3000L)));
+        when(itemRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(row2));
+
+        // Act
+        CursorPage<ItemDto> result = itemService.getItemsByCategory("slug1", null, 1, ItemSort.NEWEST);
+
+        // Assert
+        assertEquals(List.of(2L), result.getItems().stream().map(ItemDto::getId).toList());
+        assertTrue(result.isHasMore());
+        assertEquals(5000L, KeysetCursor.decode(result.getNextCursor()).sortValue());
+        verify(itemFacetIndex, never()).findByPrice(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getItemsByCategory - Should return empty page - When slug is unknown")
+    void testGetItemsByCategory_ShouldReturnEmptyPage_WhenSlugIsUnknown() {
+        // Arrange
+        when(categoryCache.findBySlug(anyString())).thenReturn(Optional.empty());
+
+        // Act
+        CursorPage<ItemDto> result = itemService.getItemsByCategory("missing", null, null, null);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.isHasMore());
+        verify(categoryItemIndex, never()).findItemIds(any(), any(), anyInt());
+        verify(itemRepository, never()).findRowsByIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("filterItems - Should return matching page with facet counts keyed by slug")
+    void testFilterItems_ShouldReturnPageAndFacets_WhenNoError() {
+        // Arrange
+        ItemFilterRequest request = ItemFilterRequest.builder()
+                .sizes(Set.of(DressSize.MD))
+                .colors(Set.of(" Color1 "))
+                .categories(Set.of("slug1", "unknown"))
+                .minPrice(new BigDecimal("10"))
+                .maxPrice(new BigDecimal("40.50"))
+                .limit(1)
+                .build();
+
+        when(categoryCache.findBySlug("slug1")).thenReturn(Optional.of(categoryDto1));
+        when(categoryCache.findBySlug("unknown")).thenReturn(Optional.empty());
+        when(categoryCache.findById(1L)).thenReturn(Optional.of(categoryDto1));
+        when(itemFacetIndex.filter(any(ItemFacetIndex.Query.class))).thenReturn(new ItemFacetIndex.Result(
+                List.of(1L), true, 2,
+                Map.of(DressSize.MD, 2), Map.of("color1", 2), Map.of(1L, 2), 0, 2, null));
+        when(itemRepository.findRowsByIdIn(List.of(1L))).thenReturn(List.of(row1));
+
+        // Act
+        ItemFilterResultDto result = itemService.filterItems(request);
+
+        // Assert
+        assertEquals(1, result.getPage().getItems().size());
+        assertTrue(result.getPage().isHasMore());
+        assertEquals(1L, KeysetCursor.decode(result.getPage().getNextCursor()).id());
+        assertEquals(2, result.getTotalCount());
+        assertEquals(Map.of("slug1", 2), result.getFacets().getCategories());
+
+        verify(itemFacetIndex, times(1)).filter(new ItemFacetIndex.Query(
+                Set.of(DressSize.MD), Set.of("color1"), Set.of(1L), 1000L, 4050L, null, null, 1));
+    }
+
+    @Test
+    @DisplayName("filterItems - Should throw InvalidEntityException - When price range is inverted")
+    void testFilterItems_ShouldThrowInvalidEntityException_WhenMinPriceAboveMaxPrice() {
+        // Arrange
+        ItemFilterRequest request = ItemFilterRequest.builder()
+                .minPrice(new BigDecimal("50"))
+                .maxPrice(new BigDecimal("10"))
+                .build();
+
+        // Act & Assert
+        assertThrows(InvalidEntityException.class, () -> itemService.filterItems(request));
+
+        verify(itemFacetIndex, never()).filter(any());
+    }
+
+    @Test
+    @DisplayName("filterItems - Should throw InvalidEntityException - When sorted by newest")
+    void testFilterItems_ShouldThrowInvalidEntityException_WhenSortIsNewest() {
+        // Arrange
+        ItemFilterRequest request = ItemFilterRequest.builder().sort(ItemSort.NEWEST).build();
+
+        // Act & Assert
+        assertThrows(InvalidEntityException.class, () -> itemService.filterItems(request));
+
+        verify(itemFacetIndex, never()).filter(any());
+    }
+
+    @Test
+    @DisplayName("searchItems - Should return items in rank order")
+    void testSearchItems_ShouldKeepRankOrder_WhenNoError() {
+        // Arrange
+        when(itemSearchIndex.search("item", 0, 24)).thenReturn(new ItemSearchIndex.Hits(List.of(2L, 1L), 2));
+        when(itemRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(row2));
+
+        // Act
+        ItemSearchResultDto result = itemService.searchItems("item", null, null);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.getItems().stream().map(ItemDto::getId).toList());
+        assertEquals(2, result.getTotalHits());
+        assertEquals(24, result.getLimit());
+    }
+
+    @Test
+    @DisplayName("searchItems - Should throw InvalidEntityException - When query is blank")
+    void testSearchItems_ShouldThrowInvalidEntityException_WhenQueryIsBlank() {
+        // Act & Assert
+        assertThrows(InvalidEntityException.class, () -> itemService.searchItems("  ", null, null));
+
+        verify(itemSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("exportItems - Should stream every item to the consumer in chunks")
+    void testExportItems_ShouldPassAllItemsToConsumer() {
+        // Arrange
+        when(itemRepository.streamAllRows()).thenReturn(Stream.of(row1, row2));
+        List<List<ItemDto>> chunks = new ArrayList<>();
+
+        // Act
+        long exported = itemService.exportItems(chunks::add);
 
-        verify(itemRepository, times(1)).findItemsByCategorySlug(anyString());
-        verify(itemDtoConverter, times(2)).convert(any(Item.class));
+        // Assert
+        assertEquals(2, exported);
+        assertEquals(1, chunks.size());
+        assertEquals(List.of(1L, 2L), chunks.get(0).stream().map(ItemDto::getId).toList());
+        verify(itemRepository, times(1)).findCategoryRowsByItemIdIn(anyList());
+        verify(itemRepository, times(1)).findImageDtosByItemIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("exportItems - Should not call the consumer - When catalog is empty")
+    void testExportItems_ShouldExportNothing_WhenCatalogIsEmpty() {
+        // Arrange
+        when(itemRepository.streamAllRows()).thenReturn(Stream.empty());
+        List<List<ItemDto>> chunks = new ArrayList<>();
+
+        // Act
+        long exported = itemService.exportItems(chunks::add);
+
+        // Assert
+        assertEquals(0, exported);
+        assertTrue(chunks.isEmpty());
     }
 
     @Test
@@ -217,7 +534,9 @@ class ItemServiceImplTest {
                 requestItem1.getSize()))
             .thenReturn(false);
         when(itemRepository.findById(parent.getId())).thenReturn(Optional.of(parent));
-        when(categoryRepository.findBySlugIn(any())).thenReturn(existingCategories);
+        when(categoryCache.findBySlug("slug1")).thenReturn(Optional.of(categoryDto1));
+        when(categoryCache.findBySlug("slug2")).thenReturn(Optional.of(categoryDto2));
+        when(categoryRepository.findAllById(any())).thenReturn(existingCategories);
         when(itemRepository.save(any(Item.class))).thenReturn(item1);
         when(itemDtoConverter.convert(item1)).thenReturn(itemDto1);
 
@@ -231,9 +550,31 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).existsByNameAndColorAndSize(
                 anyString(), anyString(), any());
         verify(itemRepository, times(1)).findById(parent.getId());
-        verify(categoryRepository, times(1)).findBySlugIn(any());
+        verify(categoryRepository, times(1)).findAllById(any());
         verify(itemRepository, times(1)).save(any(Item.class));
         verify(itemDtoConverter, times(1)).convert(any(Item.class));
+        verify(eventPublisher, times(1)).publishEvent(ItemChangedEvent.created(itemDto1));
+    }
+
+    @Test
+    @DisplayName("createItem - Should throw EntityNotFoundException - When a category slug is unknown")
+    void testCreateItem_ShouldThrowEntityNotFoundException_WhenCategorySlugUnknown() {
+        // Arrange
+        ItemCreateRequest request = ItemCreateRequest.builder()
+                .name(item1.getName())
+                .color(item1.getColor())
+                .size(item1.getSize())
+                .categorySlugs(new HashSet<>(List.of("missing")))
+                .build();
+
+        when(itemRepository.existsByNameAndColorAndSize(anyString(), anyString(), any())).thenReturn(false);
+        when(categoryCache.findBySlug("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> itemService.createItem(request));
+
+        verify(categoryRepository, never()).findAllById(any());
+        verify(itemRepository, never()).save(any(Item.class));
     }
 
     @Test
@@ -261,7 +602,7 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).existsByNameAndColorAndSize(
                 anyString(), anyString(), any(DressSize.class));
         verify(itemRepository, never()).findById(anyLong());
-        verify(categoryRepository, never()).findBySlugIn(any());
+        verify(categoryRepository, never()).findAllById(any());
         verify(itemRepository, never()).save(any(Item.class));
         verify(itemDtoConverter, never()).convert(any(Item.class));
     }
@@ -311,7 +652,9 @@ class ItemServiceImplTest {
                 .build();
 
         when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
-        when(categoryRepository.findBySlugIn(any())).thenReturn(new ArrayList<>(categories));
+        when(categoryCache.findBySlug("slug1")).thenReturn(Optional.of(categoryDto1));
+        when(categoryCache.findBySlug("slug2")).thenReturn(Optional.of(categoryDto2));
+        when(categoryRepository.findAllById(any())).thenReturn(new ArrayList<>(categories));
         when(itemRepository.save(any(Item.class))).thenReturn(item1);
         when(itemDtoConverter.convert(item1)).thenReturn(itemDto1);
 
@@ -323,6 +666,86 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(item1.getId());
         verify(itemRepository, times(1)).save(any(Item.class));
         verify(itemDtoConverter, times(1)).convert(any(Item.class));
-        verify(categoryRepository, times(1)).findBySlugIn(any());
+        verify(categoryRepository, times(1)).findAllById(any());
+        verify(inventoryService, never()).setStock(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("updateItem - Should throw InvalidEntityException - When stock is negative")
+    void testUpdateItem_ShouldThrowInvalidEntityException_WhenStockIsNegative() {
+        // Arrange
+        ItemUpdateRequest request = ItemUpdateRequest.builder().stock(-1).build();
+
+        // Act & Assert
+        assertThrows(InvalidEntityException.class, () -> itemService.updateItem(item1.getId(), request));
+        verify(itemRepository, never()).findById(anyLong());
+        verify(inventoryService, never()).setStock(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("deleteItem - Should delete item and report it and its children as deleted")
+    void testDeleteItem_ShouldPublishDeletedEvents_WhenItemHasChildren() {
+        // Arrange
+        parent.addChild(item1);
+        parent.addChild(item2);
+        when(itemRepository.findById(parent.getId())).thenReturn(Optional.of(parent));
+
+        // Act
+        itemService.deleteItem(parent.getId());
+
+        // Assert
+        verify(itemRepository, times(1)).delete(parent);
+        verify(eventPublisher, times(1)).publishEvent(ItemChangedEvent.deleted(parent.getId()));
+        verify(eventPublisher, times(1)).publishEvent(ItemChangedEvent.deleted(item1.getId()));
+        verify(eventPublisher, times(1)).publishEvent(ItemChangedEvent.deleted(item2.getId()));
+    }
+
+    @Test
+    @DisplayName("getItemFamily - Should load the whole tree in one query and link children under the root")
+    void testGetItemFamily_ShouldReturnRootWithChildren_WhenFamilyNotCached() {
+        // Arrange
+        ItemRow parentRow = new ItemRow(parent.getId(), parent.getName(), null, parent.getColor(), parent.getSize(),
+                null, parent.getPrice(), null, null, null, Timestamp.valueOf("2025-01-01 09:00:00"), null);
+        when(itemFamilyCache.get(item2.getId())).thenReturn(null);
+        when(itemFamilyCache.stamp()).thenReturn(3L);
+        when(itemRepository.findFamilyLinks(item2.getId())).thenReturn(List.of(
+                new Object[]{parent.getId(), null},
+                new Object[]{item2.getId(), parent.getId()},
+                new Object[]{item1.getId(), parent.getId()}));
+        when(itemRepository.findRowsByIdIn(List.of(1L, 2L, 5L))).thenReturn(List.of(row1, row2, parentRow));
+
+        // Act
+        ItemDto result = itemService.getItemFamily(item2.getId());
+
+        // Assert
+        assertEquals(parent.getId(), result.getId());
+        assertEquals(List.of(item1.getId(), item2.getId()), result.getChildren().stream().map(ItemDto::getId).toList());
+        assertTrue(result.getChildren().get(0).getChildren().isEmpty());
+        verify(itemFamilyCache).put(argThat(family -> family.rootId().equals(parent.getId())), eq(3L));
+    }
+
+    @Test
+    @DisplayName("getItemFamily - Should throw EntityNotFoundException - When item not found")
+    void testGetItemFamily_ShouldThrowEntityNotFoundException_WhenItemNotFound() {
+        // Arrange
+        when(itemRepository.findFamilyLinks(99L)).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> itemService.getItemFamily(99L));
+
+        verify(itemFamilyCache, never()).put(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("deleteItem - Should throw EntityNotFoundException - When item not found")
+    void testDeleteItem_ShouldThrowEntityNotFoundException_WhenItemNotFound() {
+        // Arrange
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> itemService.deleteItem(99L));
+
+        verify(itemRepository, never()).delete(any(Item.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,186 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.converters.AddressToAddressDtoConverter;
+import com.dallasdresses.dtos.projection.CartSnapshot;
+import com.dallasdresses.dtos.request.OrderCreateRequest;
+import com.dallasdresses.dtos.response.AddressDto;
+import com.dallasdresses.dtos.response.CartDto;
+import com.dallasdresses.dtos.response.CartItemDto;
+import com.dallasdresses.dtos.response.OrderDto;
+import com.dallasdresses.entities.Address;
+import com.dallasdresses.entities.Order;
+import com.dallasdresses.entities.enums.OrderStatus;
+import com.dallasdresses.exceptions.IdempotencyKeyConflictException;
+import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.orders.NewOrder;
+import com.dallasdresses.orders.OrderBatchWriter;
+import com.dallasdresses.repositories.AddressRepository;
+import com.dallasdresses.repositories.CartItemRepository;
+import com.dallasdresses.repositories.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Service Tests")
+class OrderServiceImplTest {
+
+    @Mock
+    CartService cartService;
+
+    @Mock
+    InventoryService inventoryService;
+
+    @Mock
+    AddressRepository addressRepository;
+
+    @Mock
+    AddressToAddressDtoConverter addressConverter;
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    CartItemRepository cartItemRepository;
+
+    @Mock
+    OrderBatchWriter orderBatchWriter;
+
+    OrderServiceImpl orderService;
+
+    Address address;
+    CartSnapshot snapshot;
+    OrderCreateRequest request;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(cartService, inventoryService, addressRepository, addressConverter,
+                orderRepository, cartItemRepository, orderBatchWriter, new SimpleMeterRegistry());
+
+        address = new Address();
+        request = new OrderCreateRequest(5L);
+
+        List<CartItemDto> items = List.of(
+                new CartItemDto(1L, 2, new BigDecimal("10.00"), new BigDecimal("20.00")),
+                new CartItemDto(2L, 1, new BigDecimal("15.50"), new BigDecimal("15.50")));
+        snapshot = new CartSnapshot(30L, new CartDto(7L, items, 3, new BigDecimal("35.50")));
+
+        when(addressRepository.findByIdAndUserId(5L, 7L)).thenReturn(Optional.of(address));
+        when(addressConverter.convert(address)).thenReturn(AddressDto.builder()
+                .addressLine1("123 Main St")
+                .city("Dallas")
+                .state("TX")
+                .country("United States")
+                .postalCode("75201")
+                .build());
+        when(cartService.checkout(7L)).thenReturn(snapshot);
+    }
+
+    @Test
+    @DisplayName("placeOrder - Should copy the cart and address into the order")
+    void testPlaceOrder_ShouldWriteOrder_WhenStockIsAvailable() {
+        // Arrange
+        when(inventoryService.reserve(anyLong(), anyInt())).thenReturn(true);
+        when(orderBatchWriter.submit(any(NewOrder.class))).thenReturn(CompletableFuture.completedFuture(100L));
+
+        // Act
+        OrderDto order = orderService.placeOrder(7L, null, request);
+
+        // Assert
+        ArgumentCaptor<NewOrder> written = ArgumentCaptor.forClass(NewOrder.class);
+        verify(orderBatchWriter).submit(written.capture());
+        assertEquals(30L, written.getValue().cartId());
+        assertEquals("Dallas", written.getValue().city());
+        assertEquals(new BigDecimal("35.50"), written.getValue().subtotal());
+
+        assertEquals(100L, order.getId());
+        assertEquals(OrderStatus.PROCESSING, order.getStatus());
+        assertEquals(3, order.getTotalQuantity());
+        assertEquals(List.of(new NewOrder.Line(1L, 2), new NewOrder.Line(2L, 1)), written.getValue().lines());
+        verify(cartService).completeCheckout(7L, 30L, true);
+        verify(inventoryService).confirm(1L, 2);
+        verify(inventoryService).confirm(2L, 1);
+        verify(inventoryService, never()).release(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("placeOrder - Should answer a retry with the original order")
+    void testPlaceOrder_ShouldReturnSameOrder_WhenIdempotencyKeyIsReused() {
+        // Arrange
+        when(inventoryService.reserve(anyLong(), anyInt())).thenReturn(true);
+        when(orderRepository.findByUserIdAndIdempotencyKey(7L, "retry-1")).thenReturn(Optional.empty());
+        when(orderBatchWriter.submit(any(NewOrder.class))).thenReturn(CompletableFuture.completedFuture(101L));
+
+        // Act
+        OrderDto first = orderService.placeOrder(7L, "retry-1", request);
+        OrderDto retry = orderService.placeOrder(7L, "retry-1", request);
+
+        // Assert
+        assertSame(first, retry);
+        verify(cartService, times(1)).checkout(7L);
+        verify(orderBatchWriter, times(1)).submit(any(NewOrder.class));
+        verify(orderRepository, times(1)).findByUserIdAndIdempotencyKey(7L, "retry-1");
+    }
+
+    @Test
+    @DisplayName("placeOrder - Should refuse a reused key that comes with a different request")
+    void testPlaceOrder_ShouldThrowIdempotencyKeyConflictException_WhenRequestDiffers() {
+        // Arrange
+        when(inventoryService.reserve(anyLong(), anyInt())).thenReturn(true);
+        when(orderRepository.findByUserIdAndIdempotencyKey(7L, "retry-2")).thenReturn(Optional.empty());
+        when(orderBatchWriter.submit(any(NewOrder.class))).thenReturn(CompletableFuture.completedFuture(102L));
+        orderService.placeOrder(7L, "retry-2", request);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> orderService.placeOrder(7L, "retry-2", new OrderCreateRequest(6L)));
+        verify(cartService, times(1)).checkout(7L);
+    }
+
+    @Test
+    @DisplayName("placeOrder - Should refuse a key another instance stored for a different request")
+    void testPlaceOrder_ShouldThrowIdempotencyKeyConflictException_WhenStoredOrderDiffers() {
+        // Arrange
+        Order placed = new Order();
+        placed.setRequestFingerprint("addressId=6");
+        when(inventoryService.reserve(anyLong(), anyInt())).thenReturn(true);
+        when(orderRepository.findByUserIdAndIdempotencyKey(7L, "retry-3"))
+                .thenReturn(Optional.empty(), Optional.of(placed));
+        when(orderBatchWriter.submit(any(NewOrder.class)))
+                .thenReturn(CompletableFuture.failedFuture(new DataIntegrityViolationException("uk_orders")));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyConflictException.class, () -> orderService.placeOrder(7L, "retry-3", request));
+        verify(cartService).completeCheckout(7L, 30L, false);
+        verify(inventoryService, never()).confirm(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("placeOrder - Should give stock back and reopen the cart when an item runs out")
+    void testPlaceOrder_ShouldReleaseReservedStock_WhenAnItemIsOutOfStock() {
+        // Arrange
+        when(inventoryService.reserve(1L, 2)).thenReturn(true);
+        when(inventoryService.reserve(2L, 1)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(InvalidEntityException.class, () -> orderService.placeOrder(7L, null, request));
+        verify(inventoryService).release(1L, 2);
+        verify(cartService).completeCheckout(7L, 30L, false);
+        verify(orderBatchWriter, never()).submit(any(NewOrder.class));
+        verify(inventoryService, never()).confirm(anyLong(), anyInt());
+    }
+}
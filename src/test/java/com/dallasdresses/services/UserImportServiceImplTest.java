@@ -0,0 +1,88 @@
+package com.dallasdresses.services;
+
+import com.dallasdresses.dtos.response.ImportReportDto;
+import com.dallasdresses.dtos.response.ImportRowErrorDto;
+import com.dallasdresses.imports.ImportFormat;
+import com.dallasdresses.repositories.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@DisplayName("User Import Service Tests")
+class UserImportServiceImplTest {
+
+    @Autowired
+    UserImportServiceImpl userImportService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("importUsers - Should insert users with their addresses and report the rest")
+    void testImportUsers_ShouldImportValidRowsAndReportErrors_WhenCsv() {
+        // Arrange
+        String csv = """
+                email,role,locale,firstName,lastName,addressType,addressLine1,addressLine2,city,state,country,postalCode
+                Maria.Lopez@xyzmail.com,USER,es,Maria,Lopez,MAIN,1 Gran Via,,Madrid,MD,Spain,28013
+                maria.lopez@xyzmail.com,USER,es,Maria,Lopez,WORK,9 Calle Mayor,Floor 2,Madrid,MD,spain,28005
+                maria.lopez@xyzmail.com,USER,es,Maria,Lopez,WORK,9 Calle Mayor,,Madrid,MD,SPAIN,28005
+                jeremiah.daniels@xyzmail.com,USER,en,Jeremiah,Daniels,,,,,,,
+                ravi.k@xyzmail.com,USER,en,Ravi,K,MAIN,5 MG Road,,Pune,MH,Atlantis,41100
+                no-address@xyzmail.com,STAFF,en,Sam,Lee,,,,,,,
+                bad-locale@xyzmail.com,USER,eng,Al,Bo,,,,,,,
+                """;
+        long usersBefore = userRepository.count();
+
+        // Act
+        ImportReportDto report = userImportService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        // Assert
+        assertEquals(7, report.getProcessed());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(2, report.getFailed());
+        assertFalse(report.isAborted());
+        assertEquals(List.of(5, 7), report.getErrors().stream().map(ImportRowErrorDto::getRow).toList());
+        assertEquals(usersBefore + 2, userRepository.count());
+
+        Long userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'maria.lopez@xyzmail.com'", Long.class);
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM addresses WHERE user_id = ?", Integer.class, userId));
+    }
+
+    @Test
+    @DisplayName("importUsers - Should stop at malformed NDJSON and keep what came before")
+    void testImportUsers_ShouldAbort_WhenNdjsonIsMalformed() {
+        // Arrange
+        String ndjson = """
+                {"email":"lena.m@xyzmail.com","role":"USER","locale":"en","addressType":"MAIN","addressLine1":"7 Elm St","city":"Austin","state":"TX","country":"USA","postalCode":"73301"}
+                {"email":"broken@xyzmail.com",
+                """;
+        long usersBefore = userRepository.count();
+
+        // Act
+        ImportReportDto report = userImportService.importUsers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON);
+
+        // Assert
+        assertTrue(report.isAborted());
+        assertEquals(1, report.getImported());
+        assertEquals(usersBefore + 1, userRepository.count());
+    }
+}
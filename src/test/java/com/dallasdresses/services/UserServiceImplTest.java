@@ -11,6 +11,8 @@ import com.dallasdresses.entities.enums.UserRole;
 import com.dallasdresses.exceptions.DuplicateEntityException;
 import com.dallasdresses.exceptions.EntityNotFoundException;
 import com.dallasdresses.exceptions.InvalidEntityException;
+import com.dallasdresses.pagination.CursorPage;
+import com.dallasdresses.pagination.KeysetCursor;
 import com.dallasdresses.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -87,6 +90,45 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findAllWithAddresses();
     }
 
+    @Test
+    @DisplayName("getUsersPage - Should return a page and fetch its collections separately")
+    void testGetUsersPage_ShouldReturnPageAndCursor_WhenMoreUsersExist() {
+        // Arrange
+        User user3 = new User();
+        user3.setId(3L);
+        when(userRepository.findPageAfter(0L, Limit.of(3))).thenReturn(List.of(user1, user2, user3));
+        when(userDtoConverter.convert(user1)).thenReturn(userDto1);
+        when(userDtoConverter.convert(user2)).thenReturn(userDto2);
+
+        // Act
+        CursorPage<UserDto> page = userService.getUsersPage(KeysetCursor.of(0L).encode(), 2);
+
+        // Assert
+        assertEquals(List.of(userDto1, userDto2), page.getItems());
+        assertTrue(page.isHasMore());
+        assertEquals(2L, KeysetCursor.decode(page.getNextCursor()).id());
+        verify(userRepository, times(1)).fetchAddresses(List.of(1L, 2L));
+        verify(userRepository, times(1)).fetchCredentials(List.of(1L, 2L));
+        verify(userRepository, never()).findAllWithAddresses();
+    }
+
+    @Test
+    @DisplayName("getUsersPage - Should skip collection queries for an empty page")
+    void testGetUsersPage_ShouldNotFetchCollections_WhenPageIsEmpty() {
+        // Arrange
+        when(userRepository.findFirstPage(Limit.of(25))).thenReturn(List.of());
+
+        // Act
+        CursorPage<UserDto> page = userService.getUsersPage(null, null);
+
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        verify(userRepository, never()).fetchAddresses(anyCollection());
+        verify(userRepository, never()).fetchCredentials(anyCollection());
+    }
+
     @Test
     @DisplayName("getUserById - Should Return User")
     void testGetUserById_ShouldReturnUser_WhenNoErrors() {